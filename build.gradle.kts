@@ -2,6 +2,7 @@ plugins {
     id("java")
     id("io.freefair.lombok") version "9.1.0"
     id("com.gradleup.shadow") version "9.2.2"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com.bruhdows"
@@ -18,6 +19,31 @@ dependencies {
     implementation("ch.qos.logback:logback-classic:1.5.21")
     implementation("org.reflections:reflections:0.10.2")
     implementation("org.yaml:snakeyaml:2.2")
+    implementation("io.micrometer:micrometer-registry-prometheus:1.15.5")
+
+    testImplementation(platform("org.junit:junit-bom:5.13.4"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+val loadtest: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[loadtest.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[loadtest.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+// Tests drive the bot through the load-test fakes instead of a live Discord connection.
+sourceSets.test {
+    compileClasspath += loadtest.output
+    runtimeClasspath += loadtest.output
+}
+
+jmh {
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
 }
 
 tasks {
@@ -30,4 +56,21 @@ tasks {
     jar {
         dependsOn(shadowJar)
     }
+
+    check {
+        dependsOn(loadtest.classesTaskName)
+    }
+
+    test {
+        useJUnitPlatform()
+    }
+
+    register<JavaExec>("loadTest") {
+        group = "verification"
+        description = "Runs simulated debates against an in-process mock LLM server."
+        classpath = loadtest.runtimeClasspath
+        mainClass.set("com.bruhdows.debatebot.loadtest.LoadTest")
+        args = (findProperty("loadTestArgs") as String?)?.split(" ")?.filter { it.isNotBlank() } ?: emptyList()
+        maxHeapSize = "1g"
+    }
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.bruhdows.debatebot.client.stream;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import okio.Okio;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(StreamDecoderBenchmark.FIXTURE_TOKENS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreamDecoderBenchmark {
+
+    static final int FIXTURE_TOKENS = 92;
+
+    private byte[] groqStream;
+    private byte[] ollamaStream;
+
+    @Setup
+    public void setup() throws IOException {
+        groqStream = readFixture("groq-stream.txt");
+        ollamaStream = readFixture("ollama-stream.ndjson");
+
+        AtomicInteger groqTokens = new AtomicInteger();
+        GroqStreamDecoder.decode(Okio.buffer(Okio.source(new ByteArrayInputStream(groqStream))),
+                chunk -> {
+                    if (chunk.hasToken()) groqTokens.incrementAndGet();
+                });
+        AtomicInteger ollamaTokens = new AtomicInteger();
+        OllamaStreamDecoder.decode(Okio.buffer(Okio.source(new ByteArrayInputStream(ollamaStream))),
+                chunk -> {
+                    if (chunk.hasToken()) ollamaTokens.incrementAndGet();
+                });
+        if (groqTokens.get() != FIXTURE_TOKENS || ollamaTokens.get() != FIXTURE_TOKENS) {
+            throw new IllegalStateException("Fixtures must contain " + FIXTURE_TOKENS + " tokens");
+        }
+    }
+
+    @Benchmark
+    public void groqDecoder(Blackhole blackhole) throws IOException {
+        GroqStreamDecoder.decode(Okio.buffer(Okio.source(new ByteArrayInputStream(groqStream))), blackhole::consume);
+    }
+
+    @Benchmark
+    public void groqLegacy(Blackhole blackhole) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(groqStream)))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.startsWith("data: ")) continue;
+
+                String data = line.substring(6);
+                if ("[DONE]".equals(data)) break;
+
+                JsonElement chunk = JsonParser.parseString(data);
+                if (!chunk.isJsonObject()) continue;
+
+                JsonObject chunkObj = chunk.getAsJsonObject();
+                if (!chunkObj.has("choices")) continue;
+
+                JsonArray choicesArray = chunkObj.getAsJsonArray("choices");
+                if (choicesArray.isEmpty()) continue;
+
+                JsonObject choice = choicesArray.get(0).getAsJsonObject();
+                if (!choice.has("delta")) continue;
+
+                JsonObject delta = choice.getAsJsonObject("delta");
+                if (!delta.has("content")) continue;
+
+                String token = delta.get("content").getAsString();
+                if (token != null && !token.isEmpty()) {
+                    blackhole.consume(token);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void ollamaDecoder(Blackhole blackhole) throws IOException {
+        OllamaStreamDecoder.decode(Okio.buffer(Okio.source(new ByteArrayInputStream(ollamaStream))), blackhole::consume);
+    }
+
+    @Benchmark
+    public void ollamaLegacy(Blackhole blackhole) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(ollamaStream)))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JsonObject json = JsonParser.parseString(line).getAsJsonObject();
+                if (json.has("response")) {
+                    String token = json.get("response").getAsString();
+                    if (token != null && !token.isEmpty()) {
+                        blackhole.consume(token);
+                    }
+                }
+                if (json.has("done") && json.get("done").getAsBoolean()) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private static byte[] readFixture(String name) throws IOException {
+        try (InputStream in = StreamDecoderBenchmark.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) throw new IOException("Missing fixture " + name);
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.bruhdows.debatebot.config;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PromptAssemblyBenchmark {
+
+    private final Config config = new Config();
+    private final PromptTemplates templates = PromptTemplates.compile(config);
+    private final String topic = "Is pineapple acceptable on pizza?";
+    private String context;
+
+    @Setup
+    public void setup() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 16; i++) {
+            builder.append(i % 2 == 0 ? "USER: " : "BOT: ")
+                    .append("Sweet and savoury together is the whole point of Hawaiian pizza, turn ")
+                    .append(i)
+                    .append('\n');
+        }
+        context = builder.toString();
+    }
+
+    @Benchmark
+    public String openingPrompt() {
+        return templates.opening().render(topic);
+    }
+
+    @Benchmark
+    public String replyPrompt() {
+        return templates.reply().render(topic, context);
+    }
+
+    @Benchmark
+    public String replyPromptCompiledPerCall() {
+        return PromptTemplates.reply(config.getReplySystemPrompt()).render(topic, context);
+    }
+}
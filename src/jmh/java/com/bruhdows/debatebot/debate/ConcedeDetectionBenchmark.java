@@ -0,0 +1,57 @@
+package com.bruhdows.debatebot.debate;
+
+import com.bruhdows.debatebot.config.Config;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConcedeDetectionBenchmark {
+
+    @Param({"short", "long"})
+    private String length;
+
+    private String message;
+    private List<String> tokens;
+    private ConcessionMatcher humanConcession;
+    private ConcessionMatcher botConcession;
+
+    @Setup
+    public void setup() {
+        String sentence = "Honestly your argument about renewable subsidies ignores the grid storage problem entirely. ";
+        message = length.equals("short") ? sentence : sentence.repeat(20);
+        tokens = new ArrayList<>();
+        for (int i = 0; i < message.length(); i += 4) {
+            tokens.add(message.substring(i, Math.min(message.length(), i + 4)));
+        }
+        Config config = new Config();
+        humanConcession = ConcessionMatcher.of(config.getHumanConcessionPhrases());
+        botConcession = ConcessionMatcher.of(config.getBotConcessionPhrases());
+    }
+
+    @Benchmark
+    public boolean containsConcede() {
+        return humanConcession.matches(message);
+    }
+
+    @Benchmark
+    public boolean containsBotConcede() {
+        return botConcession.matches(message);
+    }
+
+    @Benchmark
+    public boolean streamedBotConcede() {
+        ConcessionMatcher.Scanner scanner = botConcession.scanner();
+        for (String token : tokens) {
+            if (scanner.feed(token)) return true;
+        }
+        return scanner.finish();
+    }
+}
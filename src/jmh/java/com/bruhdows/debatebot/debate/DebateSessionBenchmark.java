@@ -0,0 +1,59 @@
+package com.bruhdows.debatebot.debate;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DebateSessionBenchmark {
+
+    private static final String USER_MESSAGE = "Cats are obviously better pets, they clean themselves";
+    private static final String BOT_MESSAGE = "Dogs protect your home while cats ignore you, so who is really loyal?";
+
+    // Ring capacities; the history is kept full so every add evicts the oldest turn.
+    @Param({"16", "64", "256"})
+    private int capacity;
+
+    // 0 keeps every turn the ring holds; a budget also evicts by size.
+    @Param({"0", "4000"})
+    private int charBudget;
+
+    private ConversationHistory history;
+    private int turn;
+
+    @Setup
+    public void setup() {
+        history = new ConversationHistory(capacity, charBudget);
+        for (int i = 0; i < capacity; i++) {
+            add();
+        }
+    }
+
+    @Benchmark
+    public void add() {
+        boolean user = (turn++ & 1) == 0;
+        history.add(user ? Turn.Role.USER : Turn.Role.BOT, user ? USER_MESSAGE : BOT_MESSAGE);
+    }
+
+    // One debate turn: a message arrives and the prompt is rendered from the whole window.
+    @Benchmark
+    public String addThenGetContext() {
+        add();
+        return history.getContext();
+    }
+
+    @Benchmark
+    public String getContext() {
+        return history.getContext();
+    }
+
+    @Benchmark
+    public String getRecentContext() {
+        return history.getContext(16);
+    }
+}
@@ -0,0 +1,99 @@
+package com.bruhdows.debatebot.debate;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageFilterBenchmark {
+
+    private static final int REPLAY_SIZE = 4096;
+    // Discord snowflakes are far outside the Long cache, so every boxed lookup allocates.
+    private static final long SNOWFLAKE_BASE = 1_200_000_000_000_000_000L;
+
+    @Param({"5000"})
+    private int guilds;
+
+    @Param({"0.02"})
+    private double debateShare;
+
+    private final ActiveThreadSet debateThreads = new ActiveThreadSet();
+    private final Map<Long, DebateSession> sessions = new ConcurrentHashMap<>();
+    private final Set<Long> concurrentSet = ConcurrentHashMap.newKeySet();
+    private long[] active;
+    private long[] replay;
+    private int churnIndex;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        active = new long[guilds];
+        for (int i = 0; i < guilds; i++) {
+            active[i] = SNOWFLAKE_BASE + random.nextLong(1L << 40);
+            debateThreads.add(active[i]);
+            sessions.put(active[i], new DebateSession());
+            concurrentSet.add(active[i]);
+        }
+
+        replay = new long[REPLAY_SIZE];
+        for (int i = 0; i < REPLAY_SIZE; i++) {
+            replay[i] = random.nextDouble() < debateShare
+                    ? active[random.nextInt(guilds)]
+                    : SNOWFLAKE_BASE + random.nextLong(1L << 40);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REPLAY_SIZE)
+    public int activeThreadSet() {
+        int hits = 0;
+        for (long channelId : replay) {
+            if (debateThreads.contains(channelId)) hits++;
+        }
+        return hits;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REPLAY_SIZE)
+    public int sessionMap() {
+        int hits = 0;
+        for (long channelId : replay) {
+            if (sessions.get(channelId) != null) hits++;
+        }
+        return hits;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REPLAY_SIZE)
+    public int concurrentSet() {
+        int hits = 0;
+        for (long channelId : replay) {
+            if (concurrentSet.contains(channelId)) hits++;
+        }
+        return hits;
+    }
+
+    // One debate ending and another starting, at a steady number of tracked threads.
+    @Benchmark
+    public boolean activeThreadSetChurn() {
+        long id = active[churnIndex++ % active.length];
+        debateThreads.remove(id);
+        return debateThreads.add(id);
+    }
+
+    @Benchmark
+    public boolean concurrentSetChurn() {
+        long id = active[churnIndex++ % active.length];
+        concurrentSet.remove(id);
+        return concurrentSet.add(id);
+    }
+}
@@ -0,0 +1,225 @@
+package com.bruhdows.debatebot.loadtest;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.channel.ChannelType;
+import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import net.dv8tion.jda.api.entities.channel.concrete.ThreadChannel;
+import net.dv8tion.jda.api.entities.channel.unions.MessageChannelUnion;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.interactions.commands.SlashCommandInteraction;
+import net.dv8tion.jda.api.managers.channel.concrete.ThreadChannelManager;
+import net.dv8tion.jda.api.requests.RestAction;
+import net.dv8tion.jda.api.requests.restaction.MessageCreateAction;
+import net.dv8tion.jda.api.requests.restaction.MessageEditAction;
+import net.dv8tion.jda.api.requests.restaction.ThreadChannelAction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Just enough of JDA, built from proxies, for DebateManager to run a debate. Every REST call completes after a fixed
+// latency on its own scheduler, like JDA's requester would. Anything DebateManager calls that is not simulated here
+// fails loudly instead of returning a made-up value. Blocking complete() calls still work, but the calling thread is
+// recorded so callers can assert the bot never makes one.
+public class FakeDiscord {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FakeDiscord.class);
+    private static final long USER_ID = 1_100_000_000_000_000_000L;
+
+    private final long latencyMillis;
+    private final ScheduledExecutorService rest = Executors.newScheduledThreadPool(4,
+            Thread.ofPlatform().name("fake-discord-", 0).daemon().factory());
+    private final AtomicLong ids = new AtomicLong(1_300_000_000_000_000_000L);
+    private final Map<Long, ThreadChannel> threads = new ConcurrentHashMap<>();
+    private final LongAdder restRequests = new LongAdder();
+    private final LongAdder messagesSent = new LongAdder();
+    private final LongAdder edits = new LongAdder();
+    private final Set<String> blockingCallers = ConcurrentHashMap.newKeySet();
+    private final JDA jda;
+    private final User user;
+
+    public FakeDiscord(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+        this.jda = proxy(JDA.class, Map.of(
+                "getShardInfo", args -> JDA.ShardInfo.SINGLE,
+                "getThreadChannelById", args -> threads.get(Long.parseLong(args[0].toString()))));
+        this.user = proxy(User.class, Map.of(
+                "getIdLong", args -> USER_ID,
+                "isBot", args -> false,
+                "getJDA", args -> jda));
+    }
+
+    public JDA getJda() {
+        return jda;
+    }
+
+    public long getRestRequests() {
+        return restRequests.sum();
+    }
+
+    public long getMessagesSent() {
+        return messagesSent.sum();
+    }
+
+    public long getEdits() {
+        return edits.sum();
+    }
+
+    public Set<String> getBlockingCallers() {
+        return Set.copyOf(blockingCallers);
+    }
+
+    public void shutdown() {
+        rest.shutdownNow();
+    }
+
+    public SlashCommandInteractionEvent debateCommand(SimulatedDebate debate) {
+        long guildId = ids.incrementAndGet();
+        Guild guild = proxy(Guild.class, Map.of("getIdLong", args -> guildId, "getJDA", args -> jda));
+        long channelId = ids.incrementAndGet();
+        TextChannel channel = proxy(TextChannel.class, Map.of(
+                "getIdLong", args -> channelId,
+                "getGuild", args -> guild,
+                "getType", args -> ChannelType.TEXT,
+                "getJDA", args -> jda,
+                "createThreadChannel", args -> restAction(ThreadChannelAction.class, () -> createThread(debate, guild)),
+                "sendMessage", args -> restAction(MessageCreateAction.class,
+                        () -> botMessage(debate, args[0].toString()))),
+                MessageChannelUnion.class);
+
+        SlashCommandInteraction interaction = proxy(SlashCommandInteraction.class, Map.of(
+                "getIdLong", args -> ids.incrementAndGet(),
+                "getName", args -> "debate",
+                "getChannel", args -> channel,
+                "getUser", args -> user,
+                "getGuild", args -> guild,
+                "getJDA", args -> jda));
+        return new SlashCommandInteractionEvent(jda, 0, interaction);
+    }
+
+    public MessageReceivedEvent userMessage(ThreadChannel thread, String content) {
+        long messageId = ids.incrementAndGet();
+        Message message = proxy(Message.class, Map.of(
+                "getIdLong", args -> messageId,
+                "getChannel", args -> thread,
+                "getAuthor", args -> user,
+                "getContentRaw", args -> content,
+                "getJDA", args -> jda));
+        return new MessageReceivedEvent(jda, 0, message);
+    }
+
+    private ThreadChannel createThread(SimulatedDebate debate, Guild guild) {
+        long threadId = ids.incrementAndGet();
+        ThreadChannel[] self = new ThreadChannel[1];
+        self[0] = proxy(ThreadChannel.class, Map.of(
+                "getIdLong", args -> threadId,
+                "getGuild", args -> guild,
+                "getType", args -> ChannelType.GUILD_PUBLIC_THREAD,
+                "getJDA", args -> jda,
+                "sendMessage", args -> restAction(MessageCreateAction.class,
+                        () -> botMessage(debate, args[0].toString())),
+                "sendTyping", args -> restAction(RestAction.class, () -> null),
+                "getManager", args -> restAction(ThreadChannelManager.class, () -> {
+                    threads.remove(threadId);
+                    debate.onArchived();
+                    return null;
+                })),
+                MessageChannelUnion.class);
+        threads.put(threadId, self[0]);
+        debate.onThreadCreated(self[0]);
+        return self[0];
+    }
+
+    private Message botMessage(SimulatedDebate debate, String content) {
+        long messageId = ids.incrementAndGet();
+        messagesSent.increment();
+        Message message = proxy(Message.class, Map.of(
+                "getIdLong", args -> messageId,
+                "getContentRaw", args -> content,
+                "getJDA", args -> jda,
+                "editMessage", args -> restAction(MessageEditAction.class, () -> {
+                    edits.increment();
+                    debate.onEdit(messageId, args[0].toString());
+                    return null;
+                })));
+        debate.onBotMessage(messageId, content);
+        return message;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T restAction(Class<T> type, Supplier<?> result) {
+        return proxy(type, Map.of(
+                "queue", args -> {
+                    Consumer<Object> success = args.length > 0 ? (Consumer<Object>) args[0] : null;
+                    schedule(() -> {
+                        Object value = result.get();
+                        if (success != null) success.accept(value);
+                    });
+                    return null;
+                },
+                "submit", args -> {
+                    CompletableFuture<Object> future = new CompletableFuture<>();
+                    schedule(() -> future.complete(result.get()));
+                    return future;
+                },
+                "complete", args -> {
+                    blockingCallers.add(Thread.currentThread().getName());
+                    return result.get();
+                }));
+    }
+
+    private void schedule(Runnable request) {
+        restRequests.increment();
+        rest.schedule(() -> {
+            try {
+                request.run();
+            } catch (Exception e) {
+                LOGGER.error("Simulated REST callback failed", e);
+            }
+        }, latencyMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static <T> T proxy(Class<T> type, Map<String, Function<Object[], Object>> methods, Class<?>... extra) {
+        Class<?>[] interfaces = new Class<?>[extra.length + 1];
+        interfaces[0] = type;
+        System.arraycopy(extra, 0, interfaces, 1, extra.length);
+
+        InvocationHandler handler = (self, method, args) -> {
+            Function<Object[], Object> simulated = methods.get(method.getName());
+            if (simulated != null) return simulated.apply(args != null ? args : new Object[0]);
+            switch (method.getName()) {
+                case "toString" -> {
+                    return type.getSimpleName() + "(simulated)";
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(self);
+                }
+                case "equals" -> {
+                    return self == args[0];
+                }
+            }
+            if (method.isDefault()) return InvocationHandler.invokeDefault(self, method, args);
+            // Builder-style setters such as setLocked(true) return the action itself.
+            if (method.getReturnType().isInstance(self)) return self;
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not simulated");
+        };
+        return type.cast(Proxy.newProxyInstance(FakeDiscord.class.getClassLoader(), interfaces, handler));
+    }
+}
@@ -0,0 +1,206 @@
+package com.bruhdows.debatebot.loadtest;
+
+import com.bruhdows.debatebot.DebateBot;
+import com.bruhdows.debatebot.client.ApiType;
+import com.bruhdows.debatebot.client.LanguageModelClient;
+import com.bruhdows.debatebot.client.factory.ClientFactory;
+import com.bruhdows.debatebot.client.http.HttpTransport;
+import com.bruhdows.debatebot.client.http.StreamExecutorMode;
+import com.bruhdows.debatebot.config.Config;
+import com.bruhdows.debatebot.debate.DebateListener;
+import com.bruhdows.debatebot.debate.DebateShards;
+import com.bruhdows.debatebot.debate.store.NoopSessionStore;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Runs simulated debates end to end against the mock LLM server, with no Discord connection and no API quota.
+// Options are passed as --name=value, for example: gradle loadTest -PloadTestArgs="--debates=200 --backend=ollama"
+public class LoadTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadTest.class);
+    private static final long MB = 1024 * 1024;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int debates = intOption(options, "debates", 50);
+        int arguments = intOption(options, "arguments", 4);
+        ApiType backend = ApiType.valueOf(options.getOrDefault("backend", "groq").toUpperCase(Locale.ROOT));
+        StreamExecutorMode executor = StreamExecutorMode.valueOf(
+                options.getOrDefault("executor", "virtual").toUpperCase(Locale.ROOT));
+        long thinkTimeMillis = longOption(options, "think-time", 500);
+        long rampUpMillis = longOption(options, "ramp-up", 1000);
+        long timeoutSeconds = longOption(options, "timeout", 300);
+
+        MockLlmServer server = new MockLlmServer(new MockLlmServer.Settings(
+                longOption(options, "first-token-delay", 150),
+                longOption(options, "token-delay", 20),
+                intOption(options, "tokens", 40),
+                doubleOption(options, "error-rate", 0),
+                doubleOption(options, "rate-limit-rate", 0)));
+        server.start();
+        FakeDiscord discord = new FakeDiscord(longOption(options, "discord-latency", 60));
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        // Percentiles have to be configured before the first-token timer is registered.
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!id.getName().equals("debate.llm.first.token")) return config;
+                return DistributionStatisticConfig.builder().percentiles(0.5, 0.99).build().merge(config);
+            }
+        });
+        Metrics.addRegistry(registry);
+
+        Config config = new Config();
+        config.setToken("load-test");
+        config.setApiType(backend);
+        config.setApiKey("load-test");
+        config.setApiModel("mock");
+        config.setApiBaseUrl(backend == ApiType.GROQ ? server.groqBaseUrl() : server.ollamaBaseUrl());
+        config.setGroqRequestsPerMinute(intOption(options, "groq-rpm", 1_000_000));
+        config.setGroqTokensPerMinute(intOption(options, "groq-tpm", 1_000_000_000));
+        config.setGenerationMaxConcurrent(intOption(options, "max-concurrent", config.getGenerationMaxConcurrent()));
+        config.setBackendMaxConcurrent(intOption(options, "backend-max-concurrent", config.getBackendMaxConcurrent()));
+        config.setStreamExecutorMode(executor);
+        config.setStreamPoolSize(intOption(options, "stream-pool-size", config.getStreamPoolSize()));
+        config.setStreamQueueCapacity(intOption(options, "stream-queue-capacity", config.getStreamQueueCapacity()));
+        config.setEditIntervalMillis(longOption(options, "edit-interval", config.getEditIntervalMillis()));
+        config.setOpeningCacheEnabled(!options.containsKey("no-opening-cache"));
+        config.setSessionStoreEnabled(false);
+        config.setConfigWatchEnabled(false);
+        config.setMetricsEnabled(false);
+        DebateBot.applyConfig(config);
+
+        HttpTransport transport = new HttpTransport(config);
+        LanguageModelClient client = ClientFactory.createClient(config, transport);
+        client.warmUp().get(10, TimeUnit.SECONDS);
+        DebateShards shards = new DebateShards(client, config, new NoopSessionStore());
+        DebateListener listener = new DebateListener(shards);
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long heapBefore = usedHeapAfterGc(memory);
+        AtomicLong peakHeap = new AtomicLong(heapBefore);
+        ScheduledExecutorService users = Executors.newScheduledThreadPool(2,
+                Thread.ofPlatform().name("simulated-users-", 0).daemon().factory());
+        users.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, 100, TimeUnit.MILLISECONDS);
+
+        LOGGER.info("Starting {} debates of {} arguments against the mock {} backend with {} stream threads",
+                debates, arguments, backend, executor);
+        LoadTestStats stats = new LoadTestStats();
+        CountDownLatch finished = new CountDownLatch(debates);
+        List<SimulatedDebate> running = new ArrayList<>(debates);
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < debates; i++) {
+            SimulatedDebate debate = new SimulatedDebate(i, arguments, thinkTimeMillis, discord, shards, listener,
+                    users, stats, finished::countDown);
+            running.add(debate);
+            users.schedule(debate::start, debates > 1 ? rampUpMillis * i / (debates - 1) : 0, TimeUnit.MILLISECONDS);
+        }
+
+        boolean completed = finished.await(timeoutSeconds, TimeUnit.SECONDS);
+        long wallMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        long heapAfter = usedHeapAfterGc(memory);
+
+        report(stats, server, discord, registry, wallMillis, heapBefore, peakHeap.get(), heapAfter);
+        if (!completed) {
+            long stuck = running.stream().filter(debate -> !debate.isFinished()).count();
+            LOGGER.warn("{} of {} debates did not finish within {} s", stuck, debates, timeoutSeconds);
+        }
+
+        users.shutdownNow();
+        shards.shutdown();
+        discord.shutdown();
+        server.stop();
+        System.exit(completed ? 0 : 1);
+    }
+
+    private static void report(LoadTestStats stats, MockLlmServer server, FakeDiscord discord,
+                               SimpleMeterRegistry registry, long wallMillis, long heapBefore, long heapPeak,
+                               long heapAfter) {
+        double seconds = Math.max(1, wallMillis) / 1000.0;
+        int turns = stats.getTurns();
+        Timer firstToken = registry.find("debate.llm.first.token").timer();
+        Timer queueWait = registry.find("debate.generation.queue.wait").timer();
+
+        LOGGER.info("Wall time           {} ms", wallMillis);
+        LOGGER.info("Bot turns           {} ({} failed), {} turns/s",
+                turns, stats.getFailedTurns(), String.format(Locale.ROOT, "%.2f", turns / seconds));
+        LOGGER.info("Tokens streamed     {} ({} tokens/s)",
+                server.getTokens(), String.format(Locale.ROOT, "%.1f", server.getTokens() / seconds));
+        LOGGER.info("LLM requests        {} (429: {}, errors: {}, aborted: {})",
+                server.getRequests(), server.getRateLimited(), server.getFailed(), server.getAborted());
+        if (firstToken != null) {
+            ValueAtPercentile[] percentiles = firstToken.takeSnapshot().percentileValues();
+            LOGGER.info("LLM first token     mean={}ms p50={}ms p99={}ms max={}ms",
+                    Math.round(firstToken.mean(TimeUnit.MILLISECONDS)),
+                    Math.round(percentiles[0].value(TimeUnit.MILLISECONDS)),
+                    Math.round(percentiles[1].value(TimeUnit.MILLISECONDS)),
+                    Math.round(firstToken.max(TimeUnit.MILLISECONDS)));
+        }
+        if (queueWait != null) {
+            LOGGER.info("Generation queue    mean={}ms max={}ms",
+                    Math.round(queueWait.mean(TimeUnit.MILLISECONDS)), Math.round(queueWait.max(TimeUnit.MILLISECONDS)));
+        }
+        LOGGER.info("First visible text  {}", stats.firstVisible());
+        LOGGER.info("Turn latency        {}", stats.turnLatency());
+        LOGGER.info("Discord edits       {} ({} per turn), {} messages, {} REST calls",
+                stats.getEdits(), String.format(Locale.ROOT, "%.1f", turns == 0 ? 0.0 : (double) stats.getEdits() / turns),
+                discord.getMessagesSent(), discord.getRestRequests());
+        LOGGER.info("Heap                before={}MB peak={}MB after={}MB",
+                heapBefore / MB, heapPeak / MB, heapAfter / MB);
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) {
+        memory.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument " + arg);
+            }
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+        return options;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+    }
+
+    private static long longOption(Map<String, String> options, String name, long defaultValue) {
+        return options.containsKey(name) ? Long.parseLong(options.get(name)) : defaultValue;
+    }
+
+    private static double doubleOption(Map<String, String> options, String name, double defaultValue) {
+        return options.containsKey(name) ? Double.parseDouble(options.get(name)) : defaultValue;
+    }
+}
@@ -0,0 +1,68 @@
+package com.bruhdows.debatebot.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LoadTestStats {
+
+    private final LongAdder edits = new LongAdder();
+    private final LongAdder failedTurns = new LongAdder();
+    private long[] firstVisible = new long[1024];
+    private int firstVisibleCount;
+    private long[] turns = new long[1024];
+    private int turnCount;
+
+    public void recordEdit() {
+        edits.increment();
+    }
+
+    public synchronized void recordFirstVisible(long millis) {
+        if (firstVisibleCount == firstVisible.length) firstVisible = Arrays.copyOf(firstVisible, firstVisibleCount * 2);
+        firstVisible[firstVisibleCount++] = millis;
+    }
+
+    public synchronized void recordTurn(long millis, boolean failed) {
+        if (failed) failedTurns.increment();
+        if (turnCount == turns.length) turns = Arrays.copyOf(turns, turnCount * 2);
+        turns[turnCount++] = millis;
+    }
+
+    public long getEdits() {
+        return edits.sum();
+    }
+
+    public long getFailedTurns() {
+        return failedTurns.sum();
+    }
+
+    public synchronized int getTurns() {
+        return turnCount;
+    }
+
+    public synchronized Percentiles firstVisible() {
+        return Percentiles.of(Arrays.copyOf(firstVisible, firstVisibleCount));
+    }
+
+    public synchronized Percentiles turnLatency() {
+        return Percentiles.of(Arrays.copyOf(turns, turnCount));
+    }
+
+    public record Percentiles(long p50, long p95, long p99, long max) {
+
+        static Percentiles of(long[] values) {
+            if (values.length == 0) return new Percentiles(0, 0, 0, 0);
+            Arrays.sort(values);
+            return new Percentiles(at(values, 0.50), at(values, 0.95), at(values, 0.99), values[values.length - 1]);
+        }
+
+        private static long at(long[] sorted, double quantile) {
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+
+        @Override
+        public String toString() {
+            return "p50=" + p50 + "ms p95=" + p95 + "ms p99=" + p99 + "ms max=" + max + "ms";
+        }
+    }
+}
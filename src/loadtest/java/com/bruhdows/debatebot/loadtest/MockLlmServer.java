@@ -0,0 +1,248 @@
+package com.bruhdows.debatebot.loadtest;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+public class MockLlmServer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MockLlmServer.class);
+    // Every reply ends with this, so the harness can tell when the whole reply is visible in Discord.
+    static final String CLOSING = "Your move?";
+    // No concession phrases in here, or simulated debates would end early.
+    private static final String[] WORDS = {
+            "evidence", "suggests", "your", "claim", "overlooks", "the", "costs", "history", "shows", "otherwise",
+            "data", "from", "every", "major", "study", "contradicts", "that", "premise", "because", "markets",
+            "rarely", "behave", "so", "neatly", "and", "people", "adapt", "faster", "than", "policy"
+    };
+
+    public record Settings(long firstTokenDelayMillis, long tokenDelayMillis, int tokensPerReply,
+                           double errorRate, double rateLimitRate) {
+    }
+
+    private final Settings settings;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder aborted = new LongAdder();
+    private final LongAdder tokens = new LongAdder();
+
+    public MockLlmServer(Settings settings) throws IOException {
+        this.settings = settings;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/openai/v1/chat/completions", this::groqChat);
+        server.createContext("/openai/v1/models", exchange -> respond(exchange, 200, "{\"object\":\"list\",\"data\":[]}"));
+        server.createContext("/api/chat", exchange -> ollama(exchange, true));
+        server.createContext("/api/generate", exchange -> ollama(exchange, false));
+        server.createContext("/api/tags", exchange -> respond(exchange, 200, "{\"models\":[]}"));
+    }
+
+    public void start() {
+        server.start();
+        LOGGER.info("Mock LLM server listening on port {}", port());
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public String groqBaseUrl() {
+        return "http://127.0.0.1:" + port() + "/openai/v1/";
+    }
+
+    public String ollamaBaseUrl() {
+        return "http://127.0.0.1:" + port() + "/";
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getRateLimited() {
+        return rateLimited.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getAborted() {
+        return aborted.sum();
+    }
+
+    public long getTokens() {
+        return tokens.sum();
+    }
+
+    private void groqChat(HttpExchange exchange) throws IOException {
+        int promptTokens = readPromptTokens(exchange);
+        if (rejected(exchange)) return;
+
+        stream(exchange, "text/event-stream", token -> {
+            JsonObject delta = new JsonObject();
+            delta.addProperty("content", token);
+            return "data: " + groqChunk(delta, null) + "\n\n";
+        }, completionTokens -> {
+            JsonObject usage = new JsonObject();
+            usage.addProperty("prompt_tokens", promptTokens);
+            usage.addProperty("completion_tokens", completionTokens);
+            JsonObject xGroq = new JsonObject();
+            xGroq.add("usage", usage);
+            JsonObject chunk = groqChunk(new JsonObject(), "stop");
+            chunk.add("x_groq", xGroq);
+            return "data: " + chunk + "\n\ndata: [DONE]\n\n";
+        });
+    }
+
+    private void ollama(HttpExchange exchange, boolean chat) throws IOException {
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        JsonObject request = JsonParser.parseString(new String(body, StandardCharsets.UTF_8)).getAsJsonObject();
+        if (!chat && !request.has("prompt")) {
+            // A generate request without a prompt only loads the model.
+            respond(exchange, 200, "{\"model\":\"mock\",\"response\":\"\",\"done\":true,\"done_reason\":\"load\"}");
+            return;
+        }
+        if (rejected(exchange)) return;
+
+        int promptTokens = body.length / 4;
+        stream(exchange, "application/x-ndjson", token -> {
+            JsonObject line = new JsonObject();
+            line.addProperty("model", "mock");
+            if (chat) {
+                JsonObject message = new JsonObject();
+                message.addProperty("role", "assistant");
+                message.addProperty("content", token);
+                line.add("message", message);
+            } else {
+                line.addProperty("response", token);
+            }
+            line.addProperty("done", false);
+            return line + "\n";
+        }, completionTokens -> {
+            JsonObject line = new JsonObject();
+            line.addProperty("model", "mock");
+            line.addProperty("done", true);
+            line.addProperty("done_reason", "stop");
+            line.addProperty("prompt_eval_count", promptTokens);
+            line.addProperty("eval_count", completionTokens);
+            return line + "\n";
+        });
+    }
+
+    private void stream(HttpExchange exchange, String contentType, Function<String, String> tokenLine,
+                        IntFunction<String> finalLine) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, 0);
+        List<String> reply = reply();
+        try (OutputStream out = exchange.getResponseBody()) {
+            sleep(settings.firstTokenDelayMillis());
+            for (int i = 0; i < reply.size(); i++) {
+                if (i > 0) sleep(settings.tokenDelayMillis());
+                out.write(tokenLine.apply(reply.get(i)).getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                tokens.increment();
+            }
+            out.write(finalLine.apply(reply.size()).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // The client cancelled the stream.
+            aborted.increment();
+        }
+    }
+
+    private boolean rejected(HttpExchange exchange) throws IOException {
+        requests.increment();
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < settings.rateLimitRate()) {
+            rateLimited.increment();
+            exchange.getResponseHeaders().set("retry-after", "1");
+            exchange.getResponseHeaders().set("x-ratelimit-remaining-requests", "0");
+            exchange.getResponseHeaders().set("x-ratelimit-reset-requests", "1s");
+            respond(exchange, 429, "{\"error\":{\"message\":\"Rate limit reached\",\"type\":\"requests\"}}");
+            return true;
+        }
+        if (roll < settings.rateLimitRate() + settings.errorRate()) {
+            failed.increment();
+            respond(exchange, 500, "{\"error\":{\"message\":\"Mock failure\",\"type\":\"server_error\"}}");
+            return true;
+        }
+        return false;
+    }
+
+    private List<String> reply() {
+        // Zero tokens simulates a model that finishes without saying anything.
+        if (settings.tokensPerReply() == 0) return List.of();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int words = Math.max(0, settings.tokensPerReply() - 2);
+        List<String> reply = new ArrayList<>(words + 2);
+        for (int i = 0; i < words; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            reply.add(i == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : " " + word);
+        }
+        reply.add(words == 0 ? "Your" : ". Your");
+        reply.add(CLOSING.substring("Your".length()));
+        return reply;
+    }
+
+    private static JsonObject groqChunk(JsonObject delta, String finishReason) {
+        JsonObject choice = new JsonObject();
+        choice.addProperty("index", 0);
+        choice.add("delta", delta);
+        choice.add("finish_reason", finishReason != null ? new JsonPrimitive(finishReason) : JsonNull.INSTANCE);
+        JsonObject chunk = new JsonObject();
+        chunk.addProperty("id", "mock");
+        chunk.addProperty("object", "chat.completion.chunk");
+        JsonArray choices = new JsonArray();
+        choices.add(choice);
+        chunk.add("choices", choices);
+        return chunk;
+    }
+
+    private static int readPromptTokens(HttpExchange exchange) throws IOException {
+        return exchange.getRequestBody().readAllBytes().length / 4;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) return;
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.bruhdows.debatebot.loadtest;
+
+import com.bruhdows.debatebot.debate.DebateListener;
+import com.bruhdows.debatebot.debate.DebateShards;
+import net.dv8tion.jda.api.entities.channel.concrete.ThreadChannel;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// One user debating the bot: start the debate, wait until each reply is fully visible, think, then argue back.
+public class SimulatedDebate {
+
+    private static final String FAILURE_PREFIX = "⚠️";
+    private static final String OPENING_FOOTER = "**Your turn!**";
+
+    private final int index;
+    private final int arguments;
+    private final long thinkTimeMillis;
+    private final FakeDiscord discord;
+    private final DebateShards shards;
+    private final DebateListener listener;
+    private final ScheduledExecutorService users;
+    private final LoadTestStats stats;
+    private final Runnable onFinished;
+
+    private ThreadChannel thread;
+    private long turnStartedAt;
+    private long replyMessageId = -1;
+    private boolean replyVisible;
+    private int argumentsSent;
+    private boolean finished;
+
+    public SimulatedDebate(int index, int arguments, long thinkTimeMillis, FakeDiscord discord, DebateShards shards,
+                           DebateListener listener, ScheduledExecutorService users, LoadTestStats stats,
+                           Runnable onFinished) {
+        this.index = index;
+        this.arguments = arguments;
+        this.thinkTimeMillis = thinkTimeMillis;
+        this.discord = discord;
+        this.shards = shards;
+        this.listener = listener;
+        this.users = users;
+        this.stats = stats;
+        this.onFinished = onFinished;
+    }
+
+    public synchronized void start() {
+        turnStartedAt = System.nanoTime();
+        shards.get(discord.getJda()).startDebate(discord.debateCommand(this),
+                "Load test topic " + (index % 16), null, null, true);
+    }
+
+    public synchronized boolean isFinished() {
+        return finished;
+    }
+
+    synchronized void onThreadCreated(ThreadChannel thread) {
+        this.thread = thread;
+    }
+
+    synchronized void onBotMessage(long messageId, String content) {
+        // The bot answers each turn by editing the topic header or its "thinking" placeholder.
+        if (content.startsWith("**Topic:") || content.startsWith("🤔")) {
+            replyMessageId = messageId;
+            replyVisible = false;
+        }
+    }
+
+    synchronized void onEdit(long messageId, String content) {
+        if (messageId != replyMessageId || finished) return;
+        stats.recordEdit();
+        if (!replyVisible) {
+            replyVisible = true;
+            stats.recordFirstVisible(elapsedMillis());
+        }
+
+        boolean failed = content.startsWith(FAILURE_PREFIX);
+        if (!failed && !content.endsWith(MockLlmServer.CLOSING) && !content.endsWith(OPENING_FOOTER)) return;
+
+        stats.recordTurn(elapsedMillis(), failed);
+        replyMessageId = -1;
+        if (argumentsSent >= arguments) {
+            finish();
+            return;
+        }
+        argumentsSent++;
+        users.schedule(this::argue, thinkTimeMillis, TimeUnit.MILLISECONDS);
+    }
+
+    synchronized void onArchived() {
+        // The bot only archives a thread when someone concedes or the debate expires.
+        finish();
+    }
+
+    private synchronized void argue() {
+        if (finished) return;
+        turnStartedAt = System.nanoTime();
+        listener.onMessageReceived(discord.userMessage(thread,
+                "Argument " + argumentsSent + " from debater " + index + ": the evidence points the other way."));
+    }
+
+    private void finish() {
+        if (finished) return;
+        finished = true;
+        onFinished.run();
+    }
+
+    private long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - turnStartedAt);
+    }
+}
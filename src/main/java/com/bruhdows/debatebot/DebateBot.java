@@ -3,31 +3,69 @@ package com.bruhdows.debatebot;
 import com.bruhdows.debatebot.client.ApiType;
 import com.bruhdows.debatebot.client.LanguageModelClient;
 import com.bruhdows.debatebot.client.factory.ClientFactory;
+import com.bruhdows.debatebot.client.http.HttpTransport;
 import com.bruhdows.debatebot.config.Config;
 import com.bruhdows.debatebot.config.ConfigManager;
+import com.bruhdows.debatebot.config.ConfigSnapshot;
+import com.bruhdows.debatebot.config.ConfigWatcher;
+import com.bruhdows.debatebot.config.PromptTemplates;
 import com.bruhdows.debatebot.debate.DebateListener;
-import com.bruhdows.debatebot.debate.DebateManager;
-import lombok.Getter;
+import com.bruhdows.debatebot.debate.DebateShards;
+import com.bruhdows.debatebot.debate.store.FileSessionStore;
+import com.bruhdows.debatebot.debate.store.NoopSessionStore;
+import com.bruhdows.debatebot.debate.store.SessionStore;
+import com.bruhdows.debatebot.metrics.DiscordMetricsListener;
+import com.bruhdows.debatebot.metrics.MetricsServer;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.jvm.JvmGcMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmMemoryMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmThreadMetrics;
+import io.micrometer.core.instrument.binder.system.ProcessorMetrics;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
 import net.dv8tion.jda.api.JDA;
-import net.dv8tion.jda.api.JDABuilder;
 import net.dv8tion.jda.api.entities.Activity;
-import net.dv8tion.jda.api.interactions.commands.OptionType;
-import net.dv8tion.jda.api.interactions.commands.build.Commands;
 import net.dv8tion.jda.api.requests.GatewayIntent;
+import net.dv8tion.jda.api.sharding.DefaultShardManagerBuilder;
+import net.dv8tion.jda.api.sharding.ShardManager;
+import net.dv8tion.jda.api.utils.ChunkingFilter;
+import net.dv8tion.jda.api.utils.MemberCachePolicy;
+import net.dv8tion.jda.api.utils.cache.CacheFlag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
 public class DebateBot {
 
-    @Getter
-    private static Config config;
     private static final Logger LOGGER = LoggerFactory.getLogger(DebateBot.class);
+    private static final String CONFIG_FILE = "config.json";
+
+    private static volatile ConfigSnapshot snapshot;
+
+    public static Config getConfig() {
+        return snapshot.config();
+    }
+
+    public static PromptTemplates getPrompts() {
+        return snapshot.prompts();
+    }
+
+    public static void applyConfig(Config config) {
+        snapshot = ConfigSnapshot.of(config);
+    }
 
     static void main() {
+        long startedAt = System.nanoTime();
         try {
-            config = ConfigManager.register(Config.class, "config.json");
+            Config config = ConfigManager.register(Config.class, CONFIG_FILE);
+            applyConfig(config);
 
-            if (!isValidToken(config.getToken()) || (config.getApiType() == ApiType.GROQ && config.getApiKey().isEmpty())) {
+            if (!isValidToken(config.getToken()) || (config.getBackends().isEmpty()
+                    && config.getApiType() == ApiType.GROQ && config.getApiKey().isEmpty())) {
                 LOGGER.error("Missing Discord token or Groq API key (required for Groq). For Ollama, API key can be empty.");
                 System.exit(1);
                 return;
@@ -35,30 +73,85 @@ public class DebateBot {
 
             LOGGER.info("Starting DebateBot with {} API...", config.getApiType());
 
-            LanguageModelClient client = ClientFactory.createClient(
-                    config.getApiType(),
-                    config.getApiKey(),
-                    config.getApiModel(),
-                    config.getApiBaseUrl()
-            );
+            if (config.isMetricsEnabled()) {
+                startMetrics(config);
+            }
+            Metrics.counter("debate.config.loads", "source", "startup").increment();
+
+            HttpTransport transport = new HttpTransport(config);
+            LanguageModelClient client = ClientFactory.createClient(config, transport);
+            logPhase("config and clients", startedAt);
+
+            // Warm the model while the gateway logs in; neither waits for the other.
+            long warmUpAt = System.nanoTime();
+            client.warmUp().whenComplete((ready, error) -> {
+                if (Boolean.TRUE.equals(ready)) {
+                    logPhase("llm warm-up", warmUpAt);
+                } else {
+                    LOGGER.warn("LLM warm-up failed after {} ms; the first debate will pay the cold start",
+                            elapsedMillis(warmUpAt), error);
+                }
+            });
+
+            long storeAt = System.nanoTime();
+            SessionStore store = config.isSessionStoreEnabled()
+                    ? new FileSessionStore(Path.of(config.getSessionStorePath()),
+                    config.getHistoryCapacity(), config.getSessionStoreCompactThreshold())
+                    : new NoopSessionStore();
+            logPhase("session store", storeAt);
 
-            DebateManager debateManager = new DebateManager(client, config);
+            boolean shardRange = config.getShardRangeStart() >= 0 || config.getShardRangeEnd() >= 0;
+            if (shardRange && (config.getShardsTotal() <= 0 || config.getShardRangeStart() < 0
+                    || config.getShardRangeEnd() < config.getShardRangeStart()
+                    || config.getShardRangeEnd() >= config.getShardsTotal())) {
+                LOGGER.error("Invalid shard range {}-{} for {} shards. A shard range requires shardsTotal to be set.",
+                        config.getShardRangeStart(), config.getShardRangeEnd(), config.getShardsTotal());
+                System.exit(1);
+                return;
+            }
+
+            DebateShards shards = new DebateShards(client, config, store);
+            Runtime.getRuntime().addShutdownHook(new Thread(shards::shutdown, "debatebot-shutdown"));
+
+            if (config.isConfigWatchEnabled()) {
+                ConfigWatcher<Config> watcher = ConfigWatcher.start(Config.class, CONFIG_FILE,
+                        reloaded -> reloadConfig(reloaded, shards));
+                Runtime.getRuntime().addShutdownHook(new Thread(watcher::close, "config-watcher-shutdown"));
+            }
 
-            JDA jda = JDABuilder.createDefault(config.getToken())
-                    .enableIntents(GatewayIntent.MESSAGE_CONTENT, GatewayIntent.GUILD_MESSAGES)
+            DefaultShardManagerBuilder builder = createShardManagerBuilder(config)
                     .setActivity(Activity.of(Activity.ActivityType.WATCHING, "debates"))
-                    .addEventListeners(new DebateListener(debateManager))
-                    .build()
-                    .awaitReady();
+                    .addEventListeners(new DebateListener(shards), shards.getEditRateLimits(),
+                            new DiscordMetricsListener())
+                    .setShardsTotal(config.getShardsTotal());
+            if (shardRange) {
+                builder.setShards(config.getShardRangeStart(), config.getShardRangeEnd());
+            }
+            long gatewayAt = System.nanoTime();
+            ShardManager shardManager = builder.build();
 
-            jda.updateCommands().addCommands(
-                    Commands.slash("debate", "Start a debate")
-                            .addOption(OptionType.STRING, "topic", "Debate topic", true)
-                            .addOption(OptionType.STRING, "opening_prompt", "Custom opening system prompt (optional)", false)
-                            .addOption(OptionType.STRING, "reply_prompt", "Custom reply system prompt (optional)", false)
-            ).queue();
+            // Global commands only need registering once, by whichever process owns shard 0.
+            JDA primary = shardManager.getShardById(0);
+            if (primary != null) {
+                primary.awaitReady();
+                long commandsAt = System.nanoTime();
+                DebateCommands.register(primary, Path.of(config.getCommandHashPath())).whenComplete((updated, error) -> {
+                    if (error != null) {
+                        LOGGER.error("Failed to register slash commands", error);
+                    } else if (updated) {
+                        logPhase("command registration", commandsAt);
+                    } else {
+                        LOGGER.info("Slash commands unchanged, skipped registration");
+                    }
+                });
+            }
+            for (JDA shard : shardManager.getShards()) {
+                shard.awaitReady();
+            }
+            logPhase("gateway ready", gatewayAt);
 
-            LOGGER.info("DebateBot ready in {} guilds!", jda.getGuildCache().size());
+            LOGGER.info("DebateBot ready in {} guilds across {} shards after {} ms!",
+                    shardManager.getGuildCache().size(), shardManager.getShardsRunning(), elapsedMillis(startedAt));
 
         } catch (Exception e) {
             LOGGER.error("Failed to start", e);
@@ -66,6 +159,59 @@ public class DebateBot {
         }
     }
 
+    private static DefaultShardManagerBuilder createShardManagerBuilder(Config config) {
+        EnumSet<GatewayIntent> intents = EnumSet.of(GatewayIntent.GUILD_MESSAGES, GatewayIntent.MESSAGE_CONTENT);
+        if (!config.isLowMemoryProfile()) {
+            return DefaultShardManagerBuilder.createDefault(config.getToken()).enableIntents(intents);
+        }
+        // Debates only need guilds, channels and threads, which JDA always caches. Members, presences, emojis and
+        // the rest would otherwise grow with every guild the bot is in.
+        return DefaultShardManagerBuilder.createLight(config.getToken(), intents)
+                .setMemberCachePolicy(MemberCachePolicy.NONE)
+                .setChunkingFilter(ChunkingFilter.NONE)
+                .disableCache(EnumSet.allOf(CacheFlag.class));
+    }
+
+    private static void logPhase(String phase, long startedAt) {
+        long millis = elapsedMillis(startedAt);
+        Metrics.timer("debate.startup.phase", "phase", phase).record(millis, TimeUnit.MILLISECONDS);
+        LOGGER.info("Startup phase '{}' took {} ms", phase, millis);
+    }
+
+    private static long elapsedMillis(long startedAt) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    }
+
+    private static void reloadConfig(Config reloaded, DebateShards shards) {
+        applyConfig(reloaded);
+        shards.reload(reloaded);
+        Metrics.counter("debate.config.loads", "source", "reload").increment();
+        LOGGER.info("Reloaded {}. Token, API, backend, HTTP, store, metrics and shard settings apply after a restart.",
+                CONFIG_FILE);
+    }
+
+    // The endpoint is optional, so failing to bind it is logged and the bot starts without it.
+    private static void startMetrics(Config config) {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        MetricsServer server;
+        try {
+            server = new MetricsServer(config.getMetricsHost(), config.getMetricsPort(), registry);
+        } catch (IOException e) {
+            LOGGER.warn("Could not bind metrics endpoint on {}:{}, continuing without metrics",
+                    config.getMetricsHost(), config.getMetricsPort(), e);
+            registry.close();
+            return;
+        }
+
+        new JvmMemoryMetrics().bindTo(registry);
+        new JvmGcMetrics().bindTo(registry);
+        new JvmThreadMetrics().bindTo(registry);
+        new ProcessorMetrics().bindTo(registry);
+        Metrics.addRegistry(registry);
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "metrics-shutdown"));
+    }
+
     private static boolean isValidToken(String token) {
         return token != null && !token.trim().isEmpty() &&
                 token.startsWith("MT") && token.length() > 50;
@@ -0,0 +1,76 @@
+package com.bruhdows.debatebot;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.build.Commands;
+import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+
+public class DebateCommands {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DebateCommands.class);
+
+    public static SlashCommandData debate() {
+        return Commands.slash("debate", "Start a debate")
+                .addOption(OptionType.STRING, "topic", "Debate topic", true)
+                .addOption(OptionType.STRING, "opening_prompt", "Custom opening system prompt (optional)", false)
+                .addOption(OptionType.STRING, "reply_prompt", "Custom reply system prompt (optional)", false)
+                .addOption(OptionType.BOOLEAN, "fresh", "Generate a new opening instead of reusing a cached one (optional)", false);
+    }
+
+    // Global command updates are rate limited by Discord, so only send one when the definition actually changed.
+    public static CompletableFuture<Boolean> register(JDA jda, Path hashFile) {
+        SlashCommandData command = debate();
+        String hash = hash(jda.getSelfUser().getApplicationId(), command);
+        if (hash.equals(readHash(hashFile))) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return jda.updateCommands().addCommands(command).submit().thenApply(commands -> {
+            writeHash(hashFile, hash);
+            return true;
+        });
+    }
+
+    private static String hash(String applicationId, SlashCommandData command) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(applicationId.getBytes(StandardCharsets.UTF_8));
+            digest.update(command.toData().toJson());
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is unavailable", e);
+        }
+    }
+
+    private static String readHash(Path hashFile) {
+        try {
+            return Files.exists(hashFile) ? Files.readString(hashFile).trim() : null;
+        } catch (IOException e) {
+            LOGGER.warn("Failed to read command hash from {}", hashFile, e);
+            return null;
+        }
+    }
+
+    private static void writeHash(Path hashFile, String hash) {
+        try {
+            Path parent = hashFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(hashFile, hash);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write command hash to {}", hashFile, e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.bruhdows.debatebot.client;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.util.List;
+
+public record ChatMessage(Role role, String content) {
+
+    public enum Role {
+        SYSTEM("system"),
+        USER("user"),
+        ASSISTANT("assistant");
+
+        private final String apiName;
+
+        Role(String apiName) {
+            this.apiName = apiName;
+        }
+    }
+
+    public static ChatMessage system(String content) {
+        return new ChatMessage(Role.SYSTEM, content);
+    }
+
+    public static ChatMessage user(String content) {
+        return new ChatMessage(Role.USER, content);
+    }
+
+    public static ChatMessage assistant(String content) {
+        return new ChatMessage(Role.ASSISTANT, content);
+    }
+
+    public static JsonArray toJsonArray(List<ChatMessage> messages) {
+        JsonArray array = new JsonArray(messages.size());
+        for (ChatMessage message : messages) {
+            JsonObject json = new JsonObject();
+            json.addProperty("role", message.role.apiName);
+            json.addProperty("content", message.content);
+            array.add(json);
+        }
+        return array;
+    }
+}
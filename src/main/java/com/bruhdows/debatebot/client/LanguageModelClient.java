@@ -1,7 +1,44 @@
 package com.bruhdows.debatebot.client;
 
+import com.bruhdows.debatebot.client.stream.CallbackSubscriber;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 import java.util.function.Consumer;
 
 public interface LanguageModelClient {
-    void streamResponse(String systemPrompt, String userPrompt, Consumer<String> onToken, Runnable onComplete);
+    Flow.Publisher<TokenChunk> stream(long conversationId, List<ChatMessage> messages);
+
+    default StreamHandle streamChat(long conversationId, List<ChatMessage> messages, Consumer<String> onToken,
+                                    Consumer<LanguageModelException> onError, Runnable onComplete) {
+        return CallbackSubscriber.subscribe(stream(conversationId, messages),
+                chunk -> {
+                    if (chunk.hasToken()) onToken.accept(chunk.token());
+                },
+                onError, onComplete);
+    }
+
+    default StreamHandle streamChat(List<ChatMessage> messages, Consumer<String> onToken,
+                                    Consumer<LanguageModelException> onError, Runnable onComplete) {
+        return streamChat(0L, messages, onToken, onError, onComplete);
+    }
+
+    default StreamHandle streamChat(List<ChatMessage> messages, Consumer<String> onToken, Runnable onComplete) {
+        return streamChat(messages, onToken, error -> {}, onComplete);
+    }
+
+    default StreamHandle streamResponse(String systemPrompt, String userPrompt, Consumer<String> onToken,
+                                        Runnable onComplete) {
+        return streamChat(List.of(ChatMessage.system(systemPrompt), ChatMessage.user(userPrompt)), onToken, onComplete);
+    }
+
+    default CompletableFuture<Boolean> checkHealth() {
+        return CompletableFuture.completedFuture(true);
+    }
+
+    // Opens connections (and loads the model, where the backend supports it) before the first debate needs them.
+    default CompletableFuture<Boolean> warmUp() {
+        return checkHealth();
+    }
 }
@@ -0,0 +1,23 @@
+package com.bruhdows.debatebot.client;
+
+import lombok.Getter;
+
+@Getter
+public class LanguageModelException extends RuntimeException {
+
+    private final int statusCode;
+
+    public LanguageModelException(String message, int statusCode) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public LanguageModelException(String message, Throwable cause) {
+        super(message, cause);
+        this.statusCode = 0;
+    }
+
+    public boolean isRetryable() {
+        return statusCode == 0 || statusCode == 429 || statusCode >= 500;
+    }
+}
@@ -0,0 +1,35 @@
+package com.bruhdows.debatebot.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class StreamHandle {
+
+    private final List<Runnable> cancelActions = new ArrayList<>();
+    private boolean cancelled;
+
+    public void cancel() {
+        List<Runnable> actions;
+        synchronized (this) {
+            if (cancelled) return;
+            cancelled = true;
+            actions = List.copyOf(cancelActions);
+            cancelActions.clear();
+        }
+        actions.forEach(Runnable::run);
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void whenCancelled(Runnable action) {
+        synchronized (this) {
+            if (!cancelled) {
+                cancelActions.add(action);
+                return;
+            }
+        }
+        action.run();
+    }
+}
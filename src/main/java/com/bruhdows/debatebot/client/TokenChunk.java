@@ -0,0 +1,20 @@
+package com.bruhdows.debatebot.client;
+
+public record TokenChunk(String token, String finishReason, TokenUsage usage) {
+
+    public static TokenChunk of(String token) {
+        return new TokenChunk(token, null, null);
+    }
+
+    public static TokenChunk finish(String finishReason, TokenUsage usage) {
+        return new TokenChunk("", finishReason, usage);
+    }
+
+    public boolean hasToken() {
+        return !token.isEmpty();
+    }
+
+    public boolean isFinal() {
+        return finishReason != null || usage != null;
+    }
+}
@@ -0,0 +1,8 @@
+package com.bruhdows.debatebot.client;
+
+public record TokenUsage(int promptTokens, int completionTokens) {
+
+    public int totalTokens() {
+        return promptTokens + completionTokens;
+    }
+}
@@ -2,14 +2,54 @@ package com.bruhdows.debatebot.client.factory;
 
 import com.bruhdows.debatebot.client.ApiType;
 import com.bruhdows.debatebot.client.LanguageModelClient;
+import com.bruhdows.debatebot.client.http.HttpTransport;
 import com.bruhdows.debatebot.client.impl.GroqClient;
 import com.bruhdows.debatebot.client.impl.OllamaClient;
+import com.bruhdows.debatebot.client.ratelimit.RateLimiter;
+import com.bruhdows.debatebot.client.routing.Backend;
+import com.bruhdows.debatebot.client.routing.RoutingClient;
+import com.bruhdows.debatebot.config.BackendConfig;
+import com.bruhdows.debatebot.config.Config;
+import com.bruhdows.debatebot.metrics.MeteredClient;
+import okhttp3.OkHttpClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class ClientFactory {
-    public static LanguageModelClient createClient(ApiType apiType, String apiKey, String model, String baseUrl) {
-        return switch (apiType) {
-            case GROQ -> new GroqClient(apiKey, model);
-            case OLLAMA -> new OllamaClient(model, baseUrl);
+    public static LanguageModelClient createClient(Config config, HttpTransport transport) {
+        OkHttpClient httpClient = transport.getHttpClient();
+        if (config.getBackends().isEmpty()) {
+            return createClient(config.getApiType().name().toLowerCase(), config.getApiType(), config.getApiKey(),
+                    config.getApiModel(), config.getApiBaseUrl(), config.getGroqMaxRetries(), config, httpClient);
+        }
+
+        // With somewhere to fail over to, a 429 has to reach the router instead of being retried in the client.
+        int groqMaxRetries = config.getBackends().size() > 1 ? 0 : config.getGroqMaxRetries();
+        List<Backend> backends = new ArrayList<>();
+        for (BackendConfig backend : config.getBackends()) {
+            String name = backend.getName().isEmpty()
+                    ? backend.getApiType().name().toLowerCase() + "-" + backends.size()
+                    : backend.getName();
+            backends.add(new Backend(name, createClient(name, backend.getApiType(), backend.getApiKey(),
+                    backend.getApiModel(), backend.getApiBaseUrl(), groqMaxRetries, config, httpClient)));
+        }
+        return new RoutingClient(backends,
+                TimeUnit.SECONDS.toMillis(config.getRouterCooldownSeconds()),
+                TimeUnit.SECONDS.toMillis(config.getRouterHealthCheckSeconds()),
+                config.getBackendMaxConcurrent());
+    }
+
+    private static LanguageModelClient createClient(String name, ApiType apiType, String apiKey, String model,
+                                                    String baseUrl, int groqMaxRetries, Config config,
+                                                    OkHttpClient httpClient) {
+        LanguageModelClient client = switch (apiType) {
+            case GROQ -> new GroqClient(httpClient, apiKey, model, baseUrl,
+                    new RateLimiter(config.getGroqRequestsPerMinute(), config.getGroqTokensPerMinute()),
+                    groqMaxRetries);
+            case OLLAMA -> new OllamaClient(httpClient, model, baseUrl, config.getOllamaKeepAlive());
         };
+        return new MeteredClient(client, name, model);
     }
 }
@@ -0,0 +1,91 @@
+package com.bruhdows.debatebot.client.http;
+
+import com.bruhdows.debatebot.config.Config;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import lombok.Getter;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Getter
+public class HttpTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpTransport.class);
+    private final OkHttpClient httpClient;
+    private final ExecutorService streamExecutor;
+
+    public HttpTransport(Config config) {
+        this.streamExecutor = StreamExecutors.create(config);
+
+        Dispatcher dispatcher = new Dispatcher(streamExecutor);
+        dispatcher.setMaxRequests(config.getHttpMaxRequests());
+        dispatcher.setMaxRequestsPerHost(config.getHttpMaxRequestsPerHost());
+
+        ConnectionPool connectionPool = new ConnectionPool(
+                config.getHttpMaxIdleConnections(),
+                config.getHttpKeepAliveSeconds(),
+                TimeUnit.SECONDS
+        );
+
+        this.httpClient = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(connectionPool)
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(config.getHttpConnectTimeoutSeconds(), TimeUnit.SECONDS)
+                .readTimeout(config.getHttpReadTimeoutSeconds(), TimeUnit.SECONDS)
+                .callTimeout(config.getHttpCallTimeoutSeconds(), TimeUnit.SECONDS)
+                .retryOnConnectionFailure(true)
+                .build();
+
+        Gauge.builder("debate.http.streams.active", this, HttpTransport::getActiveStreams)
+                .description("LLM streams currently being read")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("debate.http.streams.queued", this, HttpTransport::getQueuedStreams)
+                .description("LLM requests waiting for a connection slot or a stream thread")
+                .register(Metrics.globalRegistry);
+
+        logger.info("HttpTransport initialized: {} streams, {} idle connections, {} requests per host",
+                config.getStreamExecutorMode(), config.getHttpMaxIdleConnections(), config.getHttpMaxRequestsPerHost());
+    }
+
+    public static CompletableFuture<Boolean> probe(OkHttpClient httpClient, Request request) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        httpClient.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(@NotNull Call call, @NotNull IOException e) {
+                future.complete(false);
+            }
+
+            @Override
+            public void onResponse(@NotNull Call call, @NotNull Response response) {
+                try (response) {
+                    future.complete(response.isSuccessful());
+                }
+            }
+        });
+        return future;
+    }
+
+    public int getActiveStreams() {
+        return httpClient.dispatcher().runningCallsCount() - StreamExecutors.queuedTasks(streamExecutor);
+    }
+
+    public int getQueuedStreams() {
+        return httpClient.dispatcher().queuedCallsCount() + StreamExecutors.queuedTasks(streamExecutor);
+    }
+}
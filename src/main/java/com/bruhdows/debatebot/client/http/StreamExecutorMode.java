@@ -0,0 +1,6 @@
+package com.bruhdows.debatebot.client.http;
+
+public enum StreamExecutorMode {
+    VIRTUAL,
+    BOUNDED
+}
@@ -0,0 +1,45 @@
+package com.bruhdows.debatebot.client.http;
+
+import com.bruhdows.debatebot.config.Config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StreamExecutors {
+
+    public static ExecutorService create(Config config) {
+        return switch (config.getStreamExecutorMode()) {
+            case VIRTUAL -> Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("llm-stream-", 0).factory());
+            case BOUNDED -> {
+                ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                        config.getStreamPoolSize(),
+                        config.getStreamPoolSize(),
+                        60, TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(config.getStreamQueueCapacity()),
+                        platformThreadFactory()
+                );
+                executor.allowCoreThreadTimeOut(true);
+                yield executor;
+            }
+        };
+    }
+
+    public static int queuedTasks(ExecutorService executor) {
+        return executor instanceof ThreadPoolExecutor pool ? pool.getQueue().size() : 0;
+    }
+
+    private static ThreadFactory platformThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "llm-stream-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,112 +1,179 @@
 package com.bruhdows.debatebot.client.impl;
 
 import com.bruhdows.debatebot.DebateBot;
+import com.bruhdows.debatebot.client.ChatMessage;
 import com.bruhdows.debatebot.client.LanguageModelClient;
+import com.bruhdows.debatebot.client.LanguageModelException;
+import com.bruhdows.debatebot.client.StreamHandle;
+import com.bruhdows.debatebot.client.TokenChunk;
+import com.bruhdows.debatebot.client.http.HttpTransport;
+import com.bruhdows.debatebot.client.ratelimit.RateLimiter;
+import com.bruhdows.debatebot.client.stream.GroqStreamDecoder;
+import com.bruhdows.debatebot.client.stream.TokenPublisher;
+import com.bruhdows.debatebot.client.stream.TokenSink;
+import com.bruhdows.debatebot.debate.context.HeuristicTokenEstimator;
+import com.bruhdows.debatebot.debate.context.TokenEstimator;
 import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
 import okhttp3.*;
+import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.io.IOException;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.Consumer;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class GroqClient implements LanguageModelClient {
 
     private static final Logger logger = LoggerFactory.getLogger(GroqClient.class);
     private static final Gson gson = new Gson();
-    private final OkHttpClient httpClient = new OkHttpClient();
+    private static final String DEFAULT_BASE_URL = "https://api.groq.com/openai/v1/";
+    private static final TokenEstimator TOKEN_ESTIMATOR = new HeuristicTokenEstimator();
+    private static final long BASE_BACKOFF_MILLIS = 1_000;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+    private final OkHttpClient httpClient;
     private final String apiKey;
+    private final String baseUrl;
     private final String model;
+    private final RateLimiter rateLimiter;
+    private final int maxRetries;
+    private final Counter rateLimited;
 
-    public GroqClient(String apiKey, String model) {
+    public GroqClient(OkHttpClient httpClient, String apiKey, String model, String baseUrl, RateLimiter rateLimiter,
+                      int maxRetries) {
+        this.httpClient = httpClient;
         this.apiKey = apiKey;
+        String url = baseUrl == null || baseUrl.isEmpty() ? DEFAULT_BASE_URL : baseUrl;
+        this.baseUrl = url.endsWith("/") ? url : url + "/";
         this.model = model;
+        this.rateLimiter = rateLimiter;
+        this.maxRetries = maxRetries;
+        this.rateLimited = Metrics.counter("debate.llm.rate.limited", "model", model);
     }
 
     @Override
-    public void streamResponse(String systemPrompt, String userPrompt,
-                               Consumer<String> onToken, Runnable onComplete) {
-        CompletableFuture.runAsync(() -> {
-            try {
-                String fullPrompt = systemPrompt + "\n\nUSER: " + userPrompt;
-
-                JsonObject requestBody = new JsonObject();
-                requestBody.addProperty("model", model);
+    public Flow.Publisher<TokenChunk> stream(long conversationId, List<ChatMessage> messages) {
+        return new TokenPublisher(sink -> start(conversationId, messages, sink));
+    }
 
-                JsonObject message = new JsonObject();
-                message.addProperty("role", "user");
-                message.addProperty("content", fullPrompt);
+    private StreamHandle start(long conversationId, List<ChatMessage> messages, TokenSink sink) {
+        int maxTokens = DebateBot.getConfig().getMaxTokens();
+
+        JsonObject requestBody = new JsonObject();
+        requestBody.addProperty("model", model);
+        requestBody.add("messages", ChatMessage.toJsonArray(messages));
+        requestBody.addProperty("max_tokens", maxTokens);
+        requestBody.addProperty("stream", true);
+        requestBody.addProperty("temperature", 0.7);
+
+        RequestBody body = RequestBody.create(
+                gson.toJson(requestBody),
+                MediaType.get("application/json")
+        );
+
+        Request request = new Request.Builder()
+                .url(baseUrl + "chat/completions")
+                .header("Authorization", "Bearer " + apiKey)
+                .post(body)
+                .build();
+
+        int estimatedTokens = maxTokens;
+        for (ChatMessage message : messages) {
+            estimatedTokens += TOKEN_ESTIMATOR.estimate(message.content());
+        }
+
+        StreamHandle handle = new StreamHandle();
+        send(conversationId, request, estimatedTokens, 0, handle, sink);
+        return handle;
+    }
 
-                requestBody.add("messages", gson.toJsonTree(List.of(message)));
-                requestBody.addProperty("max_tokens", DebateBot.getConfig().getMaxTokens());
-                requestBody.addProperty("stream", true);
-                requestBody.addProperty("temperature", 0.7);
+    private void send(long conversationId, Request request, int estimatedTokens, int attempt, StreamHandle handle,
+                      TokenSink sink) {
+        rateLimiter.submit(conversationId, estimatedTokens, () -> {
+            if (handle.isCancelled()) {
+                sink.complete();
+                return;
+            }
+            Call streamCall = httpClient.newCall(request);
+            handle.whenCancelled(streamCall::cancel);
+            streamCall.enqueue(callback(conversationId, request, estimatedTokens, attempt, handle, sink));
+        });
+    }
 
-                RequestBody body = RequestBody.create(
-                        gson.toJson(requestBody),
-                        MediaType.get("application/json")
-                );
+    private Callback callback(long conversationId, Request request, int estimatedTokens, int attempt,
+                              StreamHandle handle, TokenSink sink) {
+        return new Callback() {
+            @Override
+            public void onFailure(@NotNull Call call, @NotNull IOException e) {
+                if (call.isCanceled()) {
+                    sink.complete();
+                    return;
+                }
+                logger.error("Stream error", e);
+                sink.error(new LanguageModelException("Groq request failed", e));
+                sink.complete();
+            }
 
-                Request request = new Request.Builder()
-                        .url("https://api.groq.com/openai/v1/chat/completions")
-                        .header("Authorization", "Bearer " + apiKey)
-                        .post(body)
-                        .build();
+            @Override
+            public void onResponse(@NotNull Call call, @NotNull Response response) {
+                rateLimiter.update(response.headers());
+                if (response.code() == 429) {
+                    rateLimited.increment();
+                    long delayMillis = retryDelayMillis(response.header("retry-after"), attempt);
+                    rateLimiter.pause(delayMillis);
+                    if (attempt < maxRetries) {
+                        response.close();
+                        logger.warn("Groq rate limited, retrying in {} ms (attempt {}/{})",
+                                delayMillis, attempt + 1, maxRetries);
+                        send(conversationId, request, estimatedTokens, attempt + 1, handle, sink);
+                        return;
+                    }
+                }
 
-                try (Response response = httpClient.newCall(request).execute()) {
+                try (response) {
                     if (!response.isSuccessful()) {
-                        logger.error("Groq API error: {}", response.body().string());
-                        onComplete.run();
+                        String errorBody = response.body().string();
+                        logger.error("Groq API error: {} - {}", response.code(), errorBody);
+                        sink.error(new LanguageModelException("Groq API error: " + errorBody, response.code()));
                         return;
                     }
 
-                    try (BufferedReader reader = new BufferedReader(
-                            new InputStreamReader(response.body().byteStream()))) {
-                        String line;
-                        while ((line = reader.readLine()) != null) {
-                            if (!line.startsWith("data: ")) continue;
-
-                            String data = line.substring(6);
-                            if ("[DONE]".equals(data)) break;
-
-                            try {
-                                JsonElement chunk = JsonParser.parseString(data);
-                                if (!chunk.isJsonObject()) continue;
-
-                                JsonObject chunkObj = chunk.getAsJsonObject();
-                                if (!chunkObj.has("choices")) continue;
-
-                                JsonArray choicesArray = chunkObj.getAsJsonArray("choices");
-                                if (choicesArray.isEmpty()) continue;
-
-                                JsonObject choice = choicesArray.get(0).getAsJsonObject();
-                                if (!choice.has("delta")) continue;
-
-                                JsonObject delta = choice.getAsJsonObject("delta");
-                                if (!delta.has("content")) continue;
-
-                                String token = delta.get("content").getAsString();
-                                if (token != null && !token.isEmpty()) {
-                                    onToken.accept(token);
-                                }
-                            } catch (Exception ex) {
-                                logger.warn("Failed parsing chunk: {}", ex.getMessage());
-                            }
-                        }
-                    }
+                    GroqStreamDecoder.decode(response.body().source(), sink::next);
+                } catch (Exception e) {
+                    if (call.isCanceled()) return;
+                    logger.error("Stream error", e);
+                    sink.error(new LanguageModelException("Groq stream failed", e));
+                } finally {
+                    sink.complete();
                 }
-            } catch (Exception e) {
-                logger.error("Stream error", e);
-            } finally {
-                onComplete.run();
             }
-        });
+        };
+    }
+
+    static long retryDelayMillis(String retryAfter, int attempt) {
+        if (retryAfter != null) {
+            try {
+                return (long) Math.ceil(Double.parseDouble(retryAfter.trim()) * 1000);
+            } catch (NumberFormatException ignored) {
+                long millis = RateLimiter.parseDurationMillis(retryAfter);
+                if (millis > 0) return millis;
+            }
+        }
+        long backoff = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << attempt);
+        return backoff + ThreadLocalRandom.current().nextLong(BASE_BACKOFF_MILLIS);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> checkHealth() {
+        Request request = new Request.Builder()
+                .url(baseUrl + "models")
+                .header("Authorization", "Bearer " + apiKey)
+                .build();
+        return HttpTransport.probe(httpClient, request);
     }
 }
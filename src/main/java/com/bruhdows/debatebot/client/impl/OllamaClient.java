@@ -1,98 +1,133 @@
 package com.bruhdows.debatebot.client.impl;
 
+import com.bruhdows.debatebot.DebateBot;
+import com.bruhdows.debatebot.client.ChatMessage;
 import com.bruhdows.debatebot.client.LanguageModelClient;
+import com.bruhdows.debatebot.client.LanguageModelException;
+import com.bruhdows.debatebot.client.StreamHandle;
+import com.bruhdows.debatebot.client.TokenChunk;
+import com.bruhdows.debatebot.client.http.HttpTransport;
+import com.bruhdows.debatebot.client.stream.OllamaStreamDecoder;
+import com.bruhdows.debatebot.client.stream.TokenPublisher;
+import com.bruhdows.debatebot.client.stream.TokenSink;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import okhttp3.*;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.io.IOException;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.Consumer;
+import java.util.concurrent.Flow;
 
 public class OllamaClient implements LanguageModelClient {
 
     private static final Logger logger = LoggerFactory.getLogger(OllamaClient.class);
-    private final OkHttpClient httpClient = new OkHttpClient();
+    private final OkHttpClient httpClient;
     private final String model;
     private final String baseUrl;
+    private final String keepAlive;
 
-    public OllamaClient(String model, String baseUrl) {
+    public OllamaClient(OkHttpClient httpClient, String model, String baseUrl, String keepAlive) {
+        this.httpClient = httpClient;
         this.model = model;
+        this.keepAlive = keepAlive;
         String url = baseUrl.replace("localhost", "127.0.0.1");
         this.baseUrl = url.endsWith("/") ? url : url + "/";
         logger.info("OllamaClient initialized: {} -> {}", this.baseUrl, model);
     }
 
     @Override
-    public void streamResponse(String systemPrompt, String userPrompt,
-                               Consumer<String> onToken, Runnable onComplete) {
-        CompletableFuture.runAsync(() -> {
-            try {
-                JsonObject requestBody = getJsonObject(systemPrompt, userPrompt);
-
-                RequestBody body = RequestBody.create(
-                        requestBody.toString(),
-                        MediaType.get("application/json; charset=utf-8"));
-
-                Request request = new Request.Builder()
-                        .url(baseUrl + "api/generate")
-                        .post(body)
-                        .build();
-
-                try (Response response = httpClient.newCall(request).execute()) {
+    public Flow.Publisher<TokenChunk> stream(long conversationId, List<ChatMessage> messages) {
+        return new TokenPublisher(sink -> start(messages, sink));
+    }
+
+    private StreamHandle start(List<ChatMessage> messages, TokenSink sink) {
+        JsonObject requestBody = getJsonObject(messages);
+
+        RequestBody body = RequestBody.create(
+                requestBody.toString(),
+                MediaType.get("application/json; charset=utf-8"));
+
+        Request request = new Request.Builder()
+                .url(baseUrl + "api/chat")
+                .post(body)
+                .build();
+
+        StreamHandle handle = new StreamHandle();
+        Call streamCall = httpClient.newCall(request);
+        handle.whenCancelled(streamCall::cancel);
+        streamCall.enqueue(new Callback() {
+            @Override
+            public void onFailure(@NotNull Call call, @NotNull IOException e) {
+                if (call.isCanceled()) {
+                    sink.complete();
+                    return;
+                }
+                logger.error("Ollama stream error: {}", e.getMessage(), e);
+                sink.error(new LanguageModelException("Ollama request failed", e));
+                sink.complete();
+            }
+
+            @Override
+            public void onResponse(@NotNull Call call, @NotNull Response response) {
+                try (response) {
                     if (!response.isSuccessful()) {
                         String errorBody = response.body().string();
                         logger.error("Ollama error: {} - {}", response.code(), errorBody);
-                        onComplete.run();
+                        sink.error(new LanguageModelException("Ollama error: " + errorBody, response.code()));
                         return;
                     }
 
-                    try (BufferedReader reader = new BufferedReader(
-                            new InputStreamReader(response.body().byteStream()))) {
-                        String line;
-                        while ((line = reader.readLine()) != null) {
-                            try {
-                                JsonObject json = JsonParser.parseString(line).getAsJsonObject();
-                                if (json.has("response")) {
-                                    String token = json.get("response").getAsString();
-                                    if (token != null && !token.isEmpty()) {
-                                        onToken.accept(token);
-                                    }
-                                }
-                                if (json.has("done") && json.get("done").getAsBoolean()) {
-                                    break;
-                                }
-                            } catch (Exception ex) {
-                                logger.warn("Failed to parse line: {}", line);
-                            }
-                        }
-                    }
+                    OllamaStreamDecoder.decode(response.body().source(), sink::next);
+                } catch (Exception e) {
+                    if (call.isCanceled()) return;
+                    logger.error("Ollama stream error: {}", e.getMessage(), e);
+                    sink.error(new LanguageModelException("Ollama stream failed", e));
+                } finally {
+                    sink.complete();
                 }
-            } catch (Exception e) {
-                logger.error("Ollama stream error: {}", e.getMessage(), e);
-            } finally {
-                onComplete.run();
             }
         });
+        return handle;
     }
 
-    @NotNull
-    private JsonObject getJsonObject(String systemPrompt, String userPrompt) {
-        String fullPrompt = systemPrompt + "\n\n" + userPrompt;
+    @Override
+    public CompletableFuture<Boolean> checkHealth() {
+        Request request = new Request.Builder()
+                .url(baseUrl + "api/tags")
+                .build();
+        return HttpTransport.probe(httpClient, request);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> warmUp() {
+        // A generate request without a prompt only loads the model and keeps it resident for keep_alive.
+        JsonObject requestBody = new JsonObject();
+        requestBody.addProperty("model", model);
+        requestBody.addProperty("keep_alive", keepAlive);
 
+        Request request = new Request.Builder()
+                .url(baseUrl + "api/generate")
+                .post(RequestBody.create(requestBody.toString(), MediaType.get("application/json; charset=utf-8")))
+                .build();
+        return HttpTransport.probe(httpClient, request);
+    }
+
+    @NotNull
+    JsonObject getJsonObject(List<ChatMessage> messages) {
         JsonObject requestBody = new JsonObject();
         requestBody.addProperty("model", model);
-        requestBody.addProperty("prompt", fullPrompt);
+        requestBody.add("messages", ChatMessage.toJsonArray(messages));
         requestBody.addProperty("stream", true);
+        requestBody.addProperty("keep_alive", keepAlive);
 
         JsonObject options = new JsonObject();
         options.addProperty("temperature", 0.7);
         options.addProperty("top_p", 0.9);
-        options.addProperty("num_predict", 300);
+        // Read per request, like Groq's max_tokens, so a config reload applies to the next reply.
+        options.addProperty("num_predict", DebateBot.getConfig().getMaxTokens());
         requestBody.add("options", options);
         return requestBody;
     }
@@ -0,0 +1,161 @@
+package com.bruhdows.debatebot.client.ratelimit;
+
+import okhttp3.Headers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class RateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+    private static final Pattern DURATION_PART = Pattern.compile("(\\d+(?:\\.\\d+)?)(ms|h|m|s)");
+
+    private final TokenBucket requests;
+    private final TokenBucket tokens;
+    private final Map<Long, ArrayDeque<Pending>> queues = new HashMap<>();
+    private final ArrayDeque<Long> order = new ArrayDeque<>();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "llm-rate-limiter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long pausedUntil;
+    private long wakeUpAt;
+
+    private record Pending(int tokens, Runnable task) {
+    }
+
+    public RateLimiter(int requestsPerMinute, int tokensPerMinute) {
+        long now = System.nanoTime();
+        this.requests = new TokenBucket(requestsPerMinute, now);
+        this.tokens = new TokenBucket(tokensPerMinute, now);
+    }
+
+    public void submit(long key, int estimatedTokens, Runnable task) {
+        synchronized (this) {
+            queues.computeIfAbsent(key, k -> {
+                order.addLast(k);
+                return new ArrayDeque<>();
+            }).addLast(new Pending(estimatedTokens, task));
+        }
+        drain();
+    }
+
+    public synchronized void pause(long delayMillis) {
+        long now = System.nanoTime();
+        pausedUntil = Math.max(pausedUntil, now + TimeUnit.MILLISECONDS.toNanos(delayMillis));
+    }
+
+    public synchronized void update(Headers headers) {
+        long now = System.nanoTime();
+
+        long tokenLimit = parseLong(headers.get("x-ratelimit-limit-tokens"));
+        if (tokenLimit > 0) tokens.resize(tokenLimit, now);
+
+        long remainingTokens = parseLong(headers.get("x-ratelimit-remaining-tokens"));
+        if (remainingTokens >= 0) {
+            tokens.sync(remainingTokens, now);
+            if (remainingTokens == 0) pauseUntilReset(headers.get("x-ratelimit-reset-tokens"), now);
+        }
+
+        long remainingRequests = parseLong(headers.get("x-ratelimit-remaining-requests"));
+        if (remainingRequests >= 0) {
+            requests.sync(remainingRequests, now);
+            if (remainingRequests == 0) pauseUntilReset(headers.get("x-ratelimit-reset-requests"), now);
+        }
+    }
+
+    public synchronized int getQueued() {
+        int queued = 0;
+        for (ArrayDeque<Pending> queue : queues.values()) {
+            queued += queue.size();
+        }
+        return queued;
+    }
+
+    private void drain() {
+        List<Runnable> ready = new ArrayList<>();
+        synchronized (this) {
+            long now = System.nanoTime();
+            long wait = 0;
+            while (!order.isEmpty()) {
+                Long key = order.peekFirst();
+                ArrayDeque<Pending> queue = queues.get(key);
+                Pending next = queue.peekFirst();
+
+                wait = Math.max(pausedUntil - now,
+                        Math.max(requests.nanosUntil(1, now), tokens.nanosUntil(next.tokens(), now)));
+                if (wait > 0) break;
+
+                requests.consume(1, now);
+                tokens.consume(next.tokens(), now);
+                queue.pollFirst();
+                order.pollFirst();
+                if (queue.isEmpty()) {
+                    queues.remove(key);
+                } else {
+                    order.addLast(key);
+                }
+                ready.add(next.task());
+            }
+            if (!order.isEmpty()) scheduleWakeUp(now, wait);
+        }
+        ready.forEach(Runnable::run);
+    }
+
+    private void scheduleWakeUp(long now, long delayNanos) {
+        long at = now + delayNanos;
+        if (wakeUpAt != 0 && wakeUpAt - now > 0 && wakeUpAt <= at) return;
+        wakeUpAt = at;
+        timer.schedule(() -> {
+            synchronized (this) {
+                if (wakeUpAt == at) wakeUpAt = 0;
+            }
+            drain();
+        }, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void pauseUntilReset(String reset, long now) {
+        long resetMillis = parseDurationMillis(reset);
+        if (resetMillis <= 0) return;
+        pausedUntil = Math.max(pausedUntil, now + TimeUnit.MILLISECONDS.toNanos(resetMillis));
+        logger.warn("Rate limit exhausted, holding requests for {} ms", resetMillis);
+    }
+
+    private static long parseLong(String value) {
+        if (value == null) return -1;
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public static long parseDurationMillis(String value) {
+        if (value == null) return -1;
+        Matcher matcher = DURATION_PART.matcher(value);
+        double millis = 0;
+        boolean matched = false;
+        while (matcher.find()) {
+            matched = true;
+            double amount = Double.parseDouble(matcher.group(1));
+            millis += switch (matcher.group(2)) {
+                case "h" -> amount * 3_600_000;
+                case "m" -> amount * 60_000;
+                case "s" -> amount * 1_000;
+                default -> amount;
+            };
+        }
+        return matched ? (long) Math.ceil(millis) : -1;
+    }
+}
@@ -0,0 +1,50 @@
+package com.bruhdows.debatebot.client.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+final class TokenBucket {
+
+    private static final long PERIOD_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private double capacity;
+    private double refillPerNano;
+    private double available;
+    private long lastRefill;
+
+    TokenBucket(double perMinute, long now) {
+        this.capacity = perMinute;
+        this.refillPerNano = perMinute / PERIOD_NANOS;
+        this.available = perMinute;
+        this.lastRefill = now;
+    }
+
+    long nanosUntil(double amount, long now) {
+        refill(now);
+        double missing = Math.min(amount, capacity) - available;
+        return missing <= 0 ? 0 : (long) Math.ceil(missing / refillPerNano);
+    }
+
+    void consume(double amount, long now) {
+        refill(now);
+        available -= Math.min(amount, capacity);
+    }
+
+    // A larger limit from the server adds its extra headroom at once instead of refilling towards it.
+    void resize(double perMinute, long now) {
+        if (perMinute <= 0 || perMinute == capacity) return;
+        refill(now);
+        available = Math.min(available + Math.max(0, perMinute - capacity), perMinute);
+        capacity = perMinute;
+        refillPerNano = perMinute / PERIOD_NANOS;
+    }
+
+    void sync(double remaining, long now) {
+        refill(now);
+        available = Math.min(available, remaining);
+    }
+
+    private void refill(long now) {
+        available = Math.min(capacity, available + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+    }
+}
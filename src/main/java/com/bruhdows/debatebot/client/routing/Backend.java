@@ -0,0 +1,60 @@
+package com.bruhdows.debatebot.client.routing;
+
+import com.bruhdows.debatebot.client.LanguageModelClient;
+import com.bruhdows.debatebot.client.LanguageModelException;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Getter
+public class Backend {
+
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final String name;
+    private final LanguageModelClient client;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong successes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile double firstTokenMillis;
+    // Passive cooldown after a 429 or 5xx, and the result of the last active probe, are tracked apart so a probe
+    // that succeeds cannot cut short a cooldown the backend earned by failing real requests.
+    private volatile long cooldownUntil;
+    private volatile boolean probeFailed;
+
+    public Backend(String name, LanguageModelClient client) {
+        this.name = name;
+        this.client = client;
+    }
+
+    public boolean isHealthy(long nowMillis) {
+        return !probeFailed && nowMillis >= cooldownUntil;
+    }
+
+    void recordFirstToken(double latencyMillis) {
+        double previous = firstTokenMillis;
+        firstTokenMillis = previous == 0 ? latencyMillis
+                : previous + LATENCY_SMOOTHING * (latencyMillis - previous);
+    }
+
+    void recordSuccess() {
+        successes.incrementAndGet();
+    }
+
+    void recordFailure(LanguageModelException error, long cooldownMillis) {
+        failures.incrementAndGet();
+        if (error.isRetryable()) {
+            cooldownUntil = Math.max(cooldownUntil, System.currentTimeMillis() + cooldownMillis);
+        }
+    }
+
+    void recordProbe(boolean healthy) {
+        probeFailed = !healthy;
+    }
+
+    public BackendStats getStats() {
+        return new BackendStats(name, isHealthy(System.currentTimeMillis()), inFlight.get(),
+                firstTokenMillis, successes.get(), failures.get());
+    }
+}
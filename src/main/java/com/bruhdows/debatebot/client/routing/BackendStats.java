@@ -0,0 +1,5 @@
+package com.bruhdows.debatebot.client.routing;
+
+public record BackendStats(String name, boolean healthy, int inFlight,
+                           double firstTokenMillis, long successes, long failures) {
+}
@@ -0,0 +1,192 @@
+package com.bruhdows.debatebot.client.routing;
+
+import com.bruhdows.debatebot.client.ChatMessage;
+import com.bruhdows.debatebot.client.LanguageModelClient;
+import com.bruhdows.debatebot.client.LanguageModelException;
+import com.bruhdows.debatebot.client.StreamHandle;
+import com.bruhdows.debatebot.client.TokenChunk;
+import com.bruhdows.debatebot.client.stream.CallbackSubscriber;
+import com.bruhdows.debatebot.client.stream.TokenPublisher;
+import com.bruhdows.debatebot.client.stream.TokenSink;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class RoutingClient implements LanguageModelClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoutingClient.class);
+    private static final Comparator<Backend> LEAST_LOADED = Comparator
+            .comparingInt((Backend backend) -> backend.getInFlight().get())
+            .thenComparingDouble(Backend::getFirstTokenMillis);
+
+    private final List<Backend> backends;
+    private final long cooldownMillis;
+    private final int maxInFlightPerBackend;
+    private final ScheduledExecutorService healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "llm-health-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RoutingClient(List<Backend> backends, long cooldownMillis, long healthCheckIntervalMillis,
+                         int maxInFlightPerBackend) {
+        if (backends.isEmpty()) {
+            throw new IllegalArgumentException("RoutingClient needs at least one backend");
+        }
+        this.backends = List.copyOf(backends);
+        this.cooldownMillis = cooldownMillis;
+        this.maxInFlightPerBackend = maxInFlightPerBackend;
+        this.backends.forEach(RoutingClient::registerMetrics);
+        healthChecker.scheduleAtFixedRate(this::checkBackends,
+                healthCheckIntervalMillis, healthCheckIntervalMillis, TimeUnit.MILLISECONDS);
+        logger.info("RoutingClient initialized with backends {}",
+                this.backends.stream().map(Backend::getName).toList());
+    }
+
+    private static void registerMetrics(Backend backend) {
+        Gauge.builder("debate.llm.backend.in.flight", backend, b -> b.getStats().inFlight())
+                .description("Streams currently running on the backend")
+                .tag("backend", backend.getName())
+                .register(Metrics.globalRegistry);
+        Gauge.builder("debate.llm.backend.healthy", backend, b -> b.getStats().healthy() ? 1 : 0)
+                .description("1 while the router sends requests to the backend, 0 during a cooldown or failed probe")
+                .tag("backend", backend.getName())
+                .register(Metrics.globalRegistry);
+        Gauge.builder("debate.llm.backend.first.token", backend, b -> b.getStats().firstTokenMillis())
+                .description("Smoothed time to first token the router balances on")
+                .tag("backend", backend.getName())
+                .baseUnit("milliseconds")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("debate.llm.backend.requests", backend, b -> b.getStats().successes())
+                .tag("backend", backend.getName())
+                .tag("outcome", "success")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("debate.llm.backend.requests", backend, b -> b.getStats().failures())
+                .tag("backend", backend.getName())
+                .tag("outcome", "failure")
+                .register(Metrics.globalRegistry);
+    }
+
+    @Override
+    public Flow.Publisher<TokenChunk> stream(long conversationId, List<ChatMessage> messages) {
+        return new TokenPublisher(sink -> {
+            StreamHandle handle = new StreamHandle();
+            route(conversationId, messages, sink, new HashSet<>(), handle);
+            return handle;
+        });
+    }
+
+    private void route(long conversationId, List<ChatMessage> messages, TokenSink sink, Set<Backend> tried,
+                       StreamHandle handle) {
+        Backend backend = select(tried);
+        tried.add(backend);
+        backend.getInFlight().incrementAndGet();
+
+        long startedAt = System.nanoTime();
+        AtomicBoolean emitted = new AtomicBoolean();
+        AtomicBoolean finished = new AtomicBoolean();
+        AtomicReference<LanguageModelException> failure = new AtomicReference<>();
+
+        StreamHandle attempt = CallbackSubscriber.subscribe(backend.getClient().stream(conversationId, messages),
+                chunk -> {
+                    if (chunk.hasToken() && emitted.compareAndSet(false, true)) {
+                        backend.recordFirstToken((System.nanoTime() - startedAt) / 1_000_000.0);
+                    }
+                    sink.next(chunk);
+                },
+                failure::set,
+                () -> {
+                    if (!finished.compareAndSet(false, true)) return;
+                    backend.getInFlight().decrementAndGet();
+                    LanguageModelException error = failure.get();
+                    if (error == null) {
+                        backend.recordSuccess();
+                        sink.complete();
+                        return;
+                    }
+
+                    backend.recordFailure(error, cooldownMillis);
+                    if (!emitted.get() && error.isRetryable() && tried.size() < backends.size()
+                            && !handle.isCancelled()) {
+                        logger.warn("Backend {} failed ({}), failing over", backend.getName(), error.getMessage());
+                        route(conversationId, messages, sink, tried, handle);
+                        return;
+                    }
+                    sink.error(error);
+                    sink.complete();
+                });
+        handle.whenCancelled(() -> {
+            attempt.cancel();
+            if (finished.compareAndSet(false, true)) {
+                backend.getInFlight().decrementAndGet();
+            }
+        });
+    }
+
+    private Backend select(Set<Backend> excluded) {
+        long now = System.currentTimeMillis();
+        Backend best = null;
+        boolean bestAvailable = false;
+        for (Backend backend : backends) {
+            if (excluded.contains(backend)) continue;
+
+            boolean available = backend.isHealthy(now) && backend.getInFlight().get() < maxInFlightPerBackend;
+            if (best == null || (available && !bestAvailable)
+                    || (available == bestAvailable && LEAST_LOADED.compare(backend, best) < 0)) {
+                best = backend;
+                bestAvailable = available;
+            }
+        }
+        return best;
+    }
+
+    private void checkBackends() {
+        for (Backend backend : backends) {
+            backend.getClient().checkHealth().thenAccept(healthy -> {
+                long now = System.currentTimeMillis();
+                boolean wasHealthy = backend.isHealthy(now);
+                backend.recordProbe(healthy);
+                boolean isHealthy = backend.isHealthy(now);
+                if (isHealthy != wasHealthy) {
+                    logger.info("Backend {} is now {}", backend.getName(), isHealthy ? "healthy" : "unhealthy");
+                }
+            });
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> checkHealth() {
+        long now = System.currentTimeMillis();
+        return CompletableFuture.completedFuture(backends.stream().anyMatch(backend -> backend.isHealthy(now)));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> warmUp() {
+        List<CompletableFuture<Boolean>> warmUps = new ArrayList<>(backends.size());
+        for (Backend backend : backends) {
+            warmUps.add(backend.getClient().warmUp().thenApply(ready -> {
+                if (!ready) {
+                    logger.warn("Backend {} failed to warm up", backend.getName());
+                }
+                return ready;
+            }));
+        }
+        return CompletableFuture.allOf(warmUps.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> warmUps.stream().anyMatch(CompletableFuture::join));
+    }
+}
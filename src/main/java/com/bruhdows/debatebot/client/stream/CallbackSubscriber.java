@@ -0,0 +1,55 @@
+package com.bruhdows.debatebot.client.stream;
+
+import com.bruhdows.debatebot.client.LanguageModelException;
+import com.bruhdows.debatebot.client.StreamHandle;
+import com.bruhdows.debatebot.client.TokenChunk;
+import lombok.Getter;
+
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+public final class CallbackSubscriber implements Flow.Subscriber<TokenChunk> {
+
+    private final Consumer<TokenChunk> onChunk;
+    private final Consumer<LanguageModelException> onError;
+    private final Runnable onComplete;
+    @Getter
+    private final StreamHandle handle = new StreamHandle();
+
+    public CallbackSubscriber(Consumer<TokenChunk> onChunk, Consumer<LanguageModelException> onError,
+                              Runnable onComplete) {
+        this.onChunk = onChunk;
+        this.onError = onError;
+        this.onComplete = onComplete;
+    }
+
+    public static StreamHandle subscribe(Flow.Publisher<TokenChunk> publisher, Consumer<TokenChunk> onChunk,
+                                         Consumer<LanguageModelException> onError, Runnable onComplete) {
+        CallbackSubscriber subscriber = new CallbackSubscriber(onChunk, onError, onComplete);
+        publisher.subscribe(subscriber);
+        return subscriber.getHandle();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        handle.whenCancelled(subscription::cancel);
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(TokenChunk chunk) {
+        onChunk.accept(chunk);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        onError.accept(throwable instanceof LanguageModelException error
+                ? error : new LanguageModelException("Token stream failed", throwable));
+        onComplete.run();
+    }
+
+    @Override
+    public void onComplete() {
+        onComplete.run();
+    }
+}
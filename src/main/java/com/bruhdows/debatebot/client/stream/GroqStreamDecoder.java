@@ -0,0 +1,130 @@
+package com.bruhdows.debatebot.client.stream;
+
+import com.bruhdows.debatebot.client.TokenChunk;
+import com.bruhdows.debatebot.client.TokenUsage;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import okio.BufferedSource;
+import okio.Okio;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+public class GroqStreamDecoder {
+
+    private static final class Summary {
+        private String finishReason;
+        private TokenUsage usage;
+    }
+
+    public static void decode(BufferedSource source, Consumer<TokenChunk> onChunk) throws IOException {
+        BufferedSource payloads = Okio.buffer(new SsePayloadSource(source));
+        JsonReader reader = new JsonReader(new InputStreamReader(payloads.inputStream(), StandardCharsets.UTF_8));
+        reader.setStrictness(Strictness.LENIENT);
+
+        Summary summary = new Summary();
+        while (reader.peek() != JsonToken.END_DOCUMENT) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                continue;
+            }
+            readChunk(reader, onChunk, summary);
+        }
+        if (summary.finishReason != null || summary.usage != null) {
+            onChunk.accept(TokenChunk.finish(summary.finishReason, summary.usage));
+        }
+    }
+
+    private static void readChunk(JsonReader reader, Consumer<TokenChunk> onChunk, Summary summary)
+            throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            JsonToken next = reader.peek();
+            if (name.equals("choices") && next == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                if (reader.hasNext()) {
+                    readChoice(reader, onChunk, summary);
+                }
+                while (reader.hasNext()) {
+                    reader.skipValue();
+                }
+                reader.endArray();
+            } else if (name.equals("usage") && next == JsonToken.BEGIN_OBJECT) {
+                summary.usage = readUsage(reader);
+            } else if (name.equals("x_groq") && next == JsonToken.BEGIN_OBJECT) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if (reader.nextName().equals("usage") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                        summary.usage = readUsage(reader);
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private static void readChoice(JsonReader reader, Consumer<TokenChunk> onChunk, Summary summary)
+            throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return;
+        }
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            JsonToken next = reader.peek();
+            if (name.equals("delta") && next == JsonToken.BEGIN_OBJECT) {
+                readDelta(reader, onChunk);
+            } else if (name.equals("finish_reason") && next == JsonToken.STRING) {
+                summary.finishReason = reader.nextString();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private static void readDelta(JsonReader reader, Consumer<TokenChunk> onChunk) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("content") && reader.peek() == JsonToken.STRING) {
+                String token = reader.nextString();
+                if (!token.isEmpty()) {
+                    onChunk.accept(TokenChunk.of(token));
+                }
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private static TokenUsage readUsage(JsonReader reader) throws IOException {
+        int promptTokens = 0;
+        int completionTokens = 0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("prompt_tokens") && reader.peek() == JsonToken.NUMBER) {
+                promptTokens = reader.nextInt();
+            } else if (name.equals("completion_tokens") && reader.peek() == JsonToken.NUMBER) {
+                completionTokens = reader.nextInt();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new TokenUsage(promptTokens, completionTokens);
+    }
+}
@@ -0,0 +1,84 @@
+package com.bruhdows.debatebot.client.stream;
+
+import com.bruhdows.debatebot.client.TokenChunk;
+import com.bruhdows.debatebot.client.TokenUsage;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import okio.BufferedSource;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+public class OllamaStreamDecoder {
+
+    public static void decode(BufferedSource source, Consumer<TokenChunk> onChunk) throws IOException {
+        JsonReader reader = new JsonReader(new InputStreamReader(source.inputStream(), StandardCharsets.UTF_8));
+        reader.setStrictness(Strictness.LENIENT);
+
+        while (reader.peek() != JsonToken.END_DOCUMENT) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                continue;
+            }
+            if (readLine(reader, onChunk)) break;
+        }
+    }
+
+    private static boolean readLine(JsonReader reader, Consumer<TokenChunk> onChunk) throws IOException {
+        boolean done = false;
+        String doneReason = null;
+        int promptTokens = -1;
+        int completionTokens = -1;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            JsonToken next = reader.peek();
+            if (name.equals("response") && next == JsonToken.STRING) {
+                emit(reader.nextString(), onChunk);
+            } else if (name.equals("message") && next == JsonToken.BEGIN_OBJECT) {
+                readMessage(reader, onChunk);
+            } else if (name.equals("done") && next == JsonToken.BOOLEAN) {
+                done = reader.nextBoolean();
+            } else if (name.equals("done_reason") && next == JsonToken.STRING) {
+                doneReason = reader.nextString();
+            } else if (name.equals("prompt_eval_count") && next == JsonToken.NUMBER) {
+                promptTokens = reader.nextInt();
+            } else if (name.equals("eval_count") && next == JsonToken.NUMBER) {
+                completionTokens = reader.nextInt();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (done) {
+            TokenUsage usage = promptTokens >= 0 || completionTokens >= 0
+                    ? new TokenUsage(Math.max(0, promptTokens), Math.max(0, completionTokens))
+                    : null;
+            onChunk.accept(TokenChunk.finish(doneReason != null ? doneReason : "stop", usage));
+        }
+        return done;
+    }
+
+    private static void readMessage(JsonReader reader, Consumer<TokenChunk> onChunk) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("content") && reader.peek() == JsonToken.STRING) {
+                emit(reader.nextString(), onChunk);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private static void emit(String token, Consumer<TokenChunk> onChunk) {
+        if (!token.isEmpty()) {
+            onChunk.accept(TokenChunk.of(token));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.bruhdows.debatebot.client.stream;
+
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ByteString;
+import okio.Source;
+import okio.Timeout;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+class SsePayloadSource implements Source {
+
+    private static final ByteString DATA_PREFIX = ByteString.encodeUtf8("data: ");
+    private static final ByteString DONE = ByteString.encodeUtf8("[DONE]");
+
+    private final BufferedSource upstream;
+    private long remainingInEvent;
+    private boolean done;
+
+    SsePayloadSource(BufferedSource upstream) {
+        this.upstream = upstream;
+    }
+
+    @Override
+    public long read(@NotNull Buffer sink, long byteCount) throws IOException {
+        while (remainingInEvent == 0) {
+            if (done || !nextEvent()) return -1;
+        }
+
+        long read = upstream.read(sink, Math.min(byteCount, remainingInEvent));
+        if (read == -1) {
+            done = true;
+            return -1;
+        }
+        remainingInEvent -= read;
+        return read;
+    }
+
+    private boolean nextEvent() throws IOException {
+        long newline = upstream.indexOf((byte) '\n');
+        long lineLength = newline != -1 ? newline : upstream.getBuffer().size();
+        if (newline == -1 && lineLength == 0) {
+            done = true;
+            return false;
+        }
+
+        if (lineLength >= DATA_PREFIX.size() && upstream.rangeEquals(0, DATA_PREFIX)) {
+            upstream.skip(DATA_PREFIX.size());
+            long payloadLength = lineLength - DATA_PREFIX.size();
+            if (payloadLength >= DONE.size() && upstream.rangeEquals(0, DONE)) {
+                done = true;
+                return false;
+            }
+            remainingInEvent = newline != -1 ? payloadLength + 1 : payloadLength;
+        } else {
+            upstream.skip(newline != -1 ? lineLength + 1 : lineLength);
+        }
+        return true;
+    }
+
+    @NotNull
+    @Override
+    public Timeout timeout() {
+        return upstream.timeout();
+    }
+
+    @Override
+    public void close() throws IOException {
+        upstream.close();
+    }
+}
@@ -0,0 +1,168 @@
+package com.bruhdows.debatebot.client.stream;
+
+import com.bruhdows.debatebot.client.LanguageModelException;
+import com.bruhdows.debatebot.client.StreamHandle;
+import com.bruhdows.debatebot.client.TokenChunk;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+public final class TokenPublisher implements Flow.Publisher<TokenChunk> {
+
+    private final Function<TokenSink, StreamHandle> source;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    public TokenPublisher(Function<TokenSink, StreamHandle> source) {
+        this.source = source;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super TokenChunk> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("A token stream can only be subscribed once"));
+            return;
+        }
+
+        Emitter emitter = new Emitter(subscriber);
+        subscriber.onSubscribe(emitter);
+        emitter.start();
+    }
+
+    private final class Emitter implements Flow.Subscription, TokenSink {
+
+        private final Flow.Subscriber<? super TokenChunk> subscriber;
+        private final StreamHandle handle = new StreamHandle();
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition demandAvailable = lock.newCondition();
+        // Held while calling the subscriber so a signal from request() never overlaps one from the producer (§1.3).
+        private final ReentrantLock signalLock = new ReentrantLock();
+        private boolean signalledTerminal;
+        private long demand;
+        private boolean cancelled;
+        private boolean terminated;
+        private LanguageModelException error;
+
+        private Emitter(Flow.Subscriber<? super TokenChunk> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        private void start() {
+            if (handle.isCancelled()) return;
+            try {
+                StreamHandle upstream = source.apply(this);
+                handle.whenCancelled(upstream::cancel);
+            } catch (RuntimeException e) {
+                error(new LanguageModelException("Failed to start stream", e));
+                complete();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                // §3.9: the stream ends with an IllegalArgumentException and upstream is cancelled.
+                terminate(new IllegalArgumentException("request(n) requires n > 0, got " + n));
+                handle.cancel();
+                return;
+            }
+            lock.lock();
+            try {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                demandAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            lock.lock();
+            try {
+                cancelled = true;
+                demandAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            handle.cancel();
+        }
+
+        @Override
+        public void next(TokenChunk chunk) {
+            lock.lock();
+            try {
+                while (demand == 0 && !cancelled && !terminated) {
+                    demandAvailable.awaitUninterruptibly();
+                }
+                if (cancelled || terminated) return;
+                if (demand != Long.MAX_VALUE) demand--;
+            } finally {
+                lock.unlock();
+            }
+            signalLock.lock();
+            try {
+                if (!signalledTerminal) subscriber.onNext(chunk);
+            } finally {
+                signalLock.unlock();
+            }
+        }
+
+        @Override
+        public void error(LanguageModelException error) {
+            lock.lock();
+            try {
+                if (this.error == null) this.error = error;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void complete() {
+            LanguageModelException failure;
+            lock.lock();
+            try {
+                if (cancelled) return;
+                failure = error;
+            } finally {
+                lock.unlock();
+            }
+            terminate(failure);
+        }
+
+        private void terminate(Throwable failure) {
+            lock.lock();
+            try {
+                if (cancelled || terminated) return;
+                terminated = true;
+                demandAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            signalLock.lock();
+            try {
+                signalledTerminal = true;
+                if (failure != null) {
+                    subscriber.onError(failure);
+                } else {
+                    subscriber.onComplete();
+                }
+            } finally {
+                signalLock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.bruhdows.debatebot.client.stream;
+
+import com.bruhdows.debatebot.client.LanguageModelException;
+import com.bruhdows.debatebot.client.TokenChunk;
+
+public interface TokenSink {
+    void next(TokenChunk chunk);
+
+    void error(LanguageModelException error);
+
+    void complete();
+}
@@ -0,0 +1,14 @@
+package com.bruhdows.debatebot.config;
+
+import com.bruhdows.debatebot.client.ApiType;
+import lombok.Data;
+
+@Data
+public class BackendConfig {
+    private String name = "";
+
+    private ApiType apiType = ApiType.GROQ;
+    private String apiKey = "";
+    private String apiModel = "llama-3.1-8b-instant";
+    private String apiBaseUrl = "";
+}
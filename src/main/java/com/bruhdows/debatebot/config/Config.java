@@ -1,28 +1,89 @@
 package com.bruhdows.debatebot.config;
 
 import com.bruhdows.debatebot.client.ApiType;
+import com.bruhdows.debatebot.client.http.StreamExecutorMode;
 import lombok.Data;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Data
 public class Config {
     private String token = "";
+    private boolean configWatchEnabled = true;
+    private int shardsTotal = -1;
+    private int shardRangeStart = -1;
+    private int shardRangeEnd = -1;
+    private String commandHashPath = "commands.sha256";
+    private boolean lowMemoryProfile = true;
 
     private ApiType apiType = ApiType.GROQ;
     private String apiKey = "";
     private String apiModel = "llama-3.1-8b-instant";
     private String apiBaseUrl = "";
+    private String ollamaKeepAlive = "30m";
+    private int groqRequestsPerMinute = 30;
+    private int groqTokensPerMinute = 6000;
+    private int groqMaxRetries = 3;
+
+    private List<BackendConfig> backends = new ArrayList<>();
+    private long routerCooldownSeconds = 30;
+    private long routerHealthCheckSeconds = 30;
+    private int generationMaxConcurrent = 64;
+    private long generationAgingMillis = 5000;
+    private int backendMaxConcurrent = 4;
 
     private long debateChannelId = 0L;
     private int maxTokens = 300;
+    private int promptTokenBudget = 2048;
+    private long editIntervalMillis = 800;
+    private long editMaxIntervalMillis = 5000;
+
+    private boolean openingCacheEnabled = true;
+    private int openingCacheMaxEntries = 512;
+    private long openingCacheTtlMinutes = 360;
+    private int openingCacheVariants = 3;
+
+    private List<String> humanConcessionPhrases = new ArrayList<>(List.of("concede", "you win", "gg", "good game"));
+    private List<String> botConcessionPhrases = new ArrayList<>(List.of("i concede", "you win", "i lose"));
+    private boolean concessionEarlyStop = true;
+
+    private int historyCapacity = 16;
+    private int historyCharBudget = 0;
+    private int mailboxCapacity = 10;
+    private long mailboxDebounceMillis = 750;
+
+    private long sessionIdleTtlMinutes = 120;
+    private long sessionExpiryTickSeconds = 30;
+
+    private boolean sessionStoreEnabled = true;
+    private String sessionStorePath = "sessions";
+    private int sessionStoreCompactThreshold = 64;
+
+    private int httpMaxIdleConnections = 16;
+    private long httpKeepAliveSeconds = 300;
+    private int httpMaxRequests = 128;
+    private int httpMaxRequestsPerHost = 64;
+    private long httpConnectTimeoutSeconds = 10;
+    private long httpReadTimeoutSeconds = 60;
+    private long httpCallTimeoutSeconds = 0;
+
+    private StreamExecutorMode streamExecutorMode = StreamExecutorMode.VIRTUAL;
+    private int streamPoolSize = 32;
+    private int streamQueueCapacity = 256;
+
+    private boolean metricsEnabled = true;
+    private String metricsHost = "127.0.0.1";
+    private int metricsPort = 9464;
 
     private String openingSystemPrompt = """
-            Topic: %s. Make **BOLD** 1 sentence opening. End with challenge. SHORT.
+            Topic: {topic}. Make **BOLD** 1 sentence opening. End with challenge. SHORT.
             To concede use "you win" or "i lose" or "i concede"
             """;
 
     private String replySystemPrompt = """
-            Topic: %s
-            Recent: %s
+            Topic: {topic}
+            Recent: {history}
             Reply with 1 sentence. Aggressive. End with question. SHORT.
             To concede use "you win" or "i lose" or "i concede"
             """;
@@ -34,6 +34,15 @@ public class ConfigManager {
         return Optional.empty();
     }
 
+    public static <T> T parseConfig(Class<T> configClass, String json) {
+        T config = GSON.fromJson(json, configClass);
+        if (config == null) {
+            throw new IllegalArgumentException("Config is empty");
+        }
+        mergeMissingFields(config, createDefault(configClass));
+        return config;
+    }
+
     public static <T> T register(Class<T> configClass, String fileName) {
         Optional<T> loadedConfig = loadConfig(configClass, fileName);
 
@@ -71,7 +80,7 @@ public class ConfigManager {
                 }
             }
         } catch (Exception e) {
-            System.err.println("Config merge failed: " + e.getMessage());
+            LOGGER.error("Config merge failed", e);
         }
     }
 
@@ -0,0 +1,8 @@
+package com.bruhdows.debatebot.config;
+
+public record ConfigSnapshot(Config config, PromptTemplates prompts) {
+
+    public static ConfigSnapshot of(Config config) {
+        return new ConfigSnapshot(config, PromptTemplates.compile(config));
+    }
+}
@@ -0,0 +1,103 @@
+package com.bruhdows.debatebot.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.function.Consumer;
+
+public class ConfigWatcher<T> implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfigWatcher.class);
+    // Editors often save in several writes; wait for them to settle before reading the file.
+    private static final long SETTLE_MILLIS = 250;
+
+    private final Class<T> configClass;
+    private final Path file;
+    private final Consumer<T> onReload;
+    private final WatchService watchService;
+    private final Thread thread;
+    private String lastContent;
+
+    private ConfigWatcher(Class<T> configClass, Path file, Consumer<T> onReload) throws IOException {
+        this.configClass = configClass;
+        this.file = file;
+        this.onReload = onReload;
+        this.lastContent = Files.readString(file);
+        this.watchService = FileSystems.getDefault().newWatchService();
+        file.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = Thread.ofPlatform().name("config-watcher").daemon().start(this::run);
+    }
+
+    public static <T> ConfigWatcher<T> start(Class<T> configClass, String fileName, Consumer<T> onReload)
+            throws IOException {
+        return new ConfigWatcher<>(configClass, Path.of(fileName).toAbsolutePath(), onReload);
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                if (!awaitChange()) continue;
+                Thread.sleep(SETTLE_MILLIS);
+                drainEvents();
+                reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            LOGGER.debug("Config watcher for {} stopped", file);
+        }
+    }
+
+    private boolean awaitChange() throws InterruptedException {
+        WatchKey key = watchService.take();
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    private void drainEvents() {
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            key.pollEvents();
+            key.reset();
+        }
+    }
+
+    private void reload() {
+        try {
+            if (!Files.exists(file)) return;
+            String content = Files.readString(file);
+            if (content.equals(lastContent)) return;
+            lastContent = content;
+
+            T config = ConfigManager.parseConfig(configClass, content);
+            onReload.accept(config);
+        } catch (Exception e) {
+            LOGGER.error("Failed to reload {}, keeping the current config", file, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to close config watcher for {}", file, e);
+        }
+        thread.interrupt();
+    }
+}
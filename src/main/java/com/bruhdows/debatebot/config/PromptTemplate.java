@@ -0,0 +1,103 @@
+package com.bruhdows.debatebot.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class PromptTemplate {
+
+    // Each segment is either literal text or the index of a parameter to substitute.
+    private record Segment(String literal, int parameter) {
+    }
+
+    private final String source;
+    private final Segment[] segments;
+    private final int parameterCount;
+    private final int literalLength;
+
+    private PromptTemplate(String source, Segment[] segments, int parameterCount, int literalLength) {
+        this.source = source;
+        this.segments = segments;
+        this.parameterCount = parameterCount;
+        this.literalLength = literalLength;
+    }
+
+    // Placeholders are written as {name}. Templates written for String.format still work: the n-th %s binds to the
+    // n-th parameter, %n is a line break and %% a percent sign. Anything else, unknown {names} included, is literal.
+    public static PromptTemplate compile(String source, String... parameters) {
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int literalLength = 0;
+        int positional = 0;
+
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            int parameter = -1;
+            int consumed = 1;
+
+            if (c == '{') {
+                int close = source.indexOf('}', i + 1);
+                if (close > 0) {
+                    parameter = indexOf(parameters, source.substring(i + 1, close));
+                    if (parameter >= 0) consumed = close - i + 1;
+                }
+            } else if (c == '%' && i + 1 < source.length()) {
+                char next = source.charAt(i + 1);
+                if (next == 's' && positional < parameters.length) {
+                    parameter = positional++;
+                    consumed = 2;
+                } else if (next == 'n') {
+                    literal.append(System.lineSeparator());
+                    i += 2;
+                    continue;
+                } else if (next == '%') {
+                    literal.append('%');
+                    i += 2;
+                    continue;
+                }
+            }
+
+            if (parameter < 0) {
+                literal.append(c);
+            } else {
+                if (!literal.isEmpty()) {
+                    segments.add(new Segment(literal.toString(), -1));
+                    literalLength += literal.length();
+                    literal.setLength(0);
+                }
+                segments.add(new Segment(null, parameter));
+            }
+            i += consumed;
+        }
+        if (!literal.isEmpty()) {
+            segments.add(new Segment(literal.toString(), -1));
+            literalLength += literal.length();
+        }
+        return new PromptTemplate(source, segments.toArray(new Segment[0]), parameters.length, literalLength);
+    }
+
+    public String render(String... values) {
+        if (values.length != parameterCount) {
+            throw new IllegalArgumentException("Expected " + parameterCount + " values but got " + values.length);
+        }
+        int capacity = literalLength;
+        for (String value : values) capacity += value.length();
+
+        StringBuilder builder = new StringBuilder(capacity);
+        for (Segment segment : segments) {
+            builder.append(segment.parameter() < 0 ? segment.literal() : values[segment.parameter()]);
+        }
+        return builder.toString();
+    }
+
+    public String source() {
+        return source;
+    }
+
+    private static int indexOf(String[] parameters, String name) {
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].equals(name)) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,16 @@
+package com.bruhdows.debatebot.config;
+
+public record PromptTemplates(PromptTemplate opening, PromptTemplate reply) {
+
+    public static PromptTemplates compile(Config config) {
+        return new PromptTemplates(opening(config.getOpeningSystemPrompt()), reply(config.getReplySystemPrompt()));
+    }
+
+    public static PromptTemplate opening(String source) {
+        return PromptTemplate.compile(source, "topic");
+    }
+
+    public static PromptTemplate reply(String source) {
+        return PromptTemplate.compile(source, "topic", "history");
+    }
+}
@@ -0,0 +1,113 @@
+package com.bruhdows.debatebot.debate;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class ActiveThreadSet {
+
+    private static final int MIN_CAPACITY = 16;
+    // Discord ids are positive, so zero marks an empty slot and -1 a removed one.
+    private static final long EMPTY = 0L;
+    private static final long REMOVED = -1L;
+
+    // An open-addressing table read without a lock. Writers hold the monitor and only ever change a slot between an
+    // id and a marker, so a concurrent lookup sees either the old or the new state of that slot. Removal leaves a
+    // marker instead of shifting the probe run, and the table is only rebuilt when it grows, shrinks or fills with
+    // markers, so adding and removing a thread is amortized O(1).
+    private volatile AtomicLongArray slots = new AtomicLongArray(MIN_CAPACITY);
+    private volatile int size;
+    // Slots holding an id or a removal marker; kept at most half the table so probe runs stay short.
+    private int used;
+
+    public boolean contains(long id) {
+        return id > 0 && indexOf(slots, id) >= 0;
+    }
+
+    public synchronized boolean add(long id) {
+        if (id <= 0 || indexOf(slots, id) >= 0) return false;
+        if ((used + 1) * 2 > slots.length()) {
+            slots = rebuild(slots, size + 1);
+        }
+
+        AtomicLongArray table = slots;
+        int mask = table.length() - 1;
+        int i = indexFor(id, mask);
+        while (table.get(i) != EMPTY && table.get(i) != REMOVED) {
+            i = (i + 1) & mask;
+        }
+        if (table.get(i) == EMPTY) used++;
+        table.set(i, id);
+        size++;
+        return true;
+    }
+
+    public synchronized void addAll(long[] ids) {
+        AtomicLongArray next = rebuild(slots, size + ids.length);
+        int added = 0;
+        for (long id : ids) {
+            if (id > 0 && indexOf(next, id) < 0) {
+                insert(next, id);
+                added++;
+            }
+        }
+        size += added;
+        used = size;
+        slots = next;
+    }
+
+    public synchronized boolean remove(long id) {
+        if (id <= 0) return false;
+        int index = indexOf(slots, id);
+        if (index < 0) return false;
+
+        slots.set(index, REMOVED);
+        size--;
+        if (slots.length() > MIN_CAPACITY && size * 8 < slots.length()) {
+            slots = rebuild(slots, size);
+        }
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+
+    // Copies the live ids into a fresh table with no removal markers; the old table is left untouched for readers.
+    private AtomicLongArray rebuild(AtomicLongArray table, int expectedSize) {
+        int capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, expectedSize) * 2 - 1) << 1);
+        AtomicLongArray next = new AtomicLongArray(capacity);
+        for (int i = 0; i < table.length(); i++) {
+            long id = table.get(i);
+            if (id > 0) insert(next, id);
+        }
+        used = size;
+        return next;
+    }
+
+    private static int indexOf(AtomicLongArray table, long id) {
+        int mask = table.length() - 1;
+        for (int i = indexFor(id, mask); ; i = (i + 1) & mask) {
+            long slot = table.get(i);
+            if (slot == id) return i;
+            if (slot == EMPTY) return -1;
+        }
+    }
+
+    private static void insert(AtomicLongArray table, long id) {
+        int mask = table.length() - 1;
+        int i = indexFor(id, mask);
+        while (table.get(i) != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        table.set(i, id);
+    }
+
+    static int indexFor(long id, int mask) {
+        // Snowflakes share their high timestamp bits, so mix the whole value before masking.
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & mask;
+    }
+}
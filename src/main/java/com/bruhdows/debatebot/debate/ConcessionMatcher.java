@@ -0,0 +1,222 @@
+package com.bruhdows.debatebot.debate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+public final class ConcessionMatcher {
+
+    private static final int[] NO_OUTPUTS = new int[0];
+
+    private final Map<Character, Integer> alphabet;
+    private final int[][] transitions;
+    // Lengths of every phrase that ends in each state, including those reached through failure links.
+    private final int[][] outputs;
+    private final int maxLength;
+
+    private ConcessionMatcher(Map<Character, Integer> alphabet, int[][] transitions, int[][] outputs, int maxLength) {
+        this.alphabet = alphabet;
+        this.transitions = transitions;
+        this.outputs = outputs;
+        this.maxLength = maxLength;
+    }
+
+    public static ConcessionMatcher of(Collection<String> phrases) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String phrase : phrases) {
+            if (phrase == null) continue;
+            String value = normalize(phrase);
+            if (!value.isEmpty()) normalized.add(value);
+        }
+
+        // Class 0 stands for every character that appears in no phrase.
+        Map<Character, Integer> alphabet = new HashMap<>();
+        for (String phrase : normalized) {
+            for (int i = 0; i < phrase.length(); i++) {
+                alphabet.putIfAbsent(phrase.charAt(i), alphabet.size() + 1);
+            }
+        }
+        int classes = alphabet.size() + 1;
+
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        trie.add(emptyRow(classes));
+        ends.add(new ArrayList<>());
+        int maxLength = 0;
+        for (String phrase : normalized) {
+            int state = 0;
+            for (int i = 0; i < phrase.length(); i++) {
+                int symbol = alphabet.get(phrase.charAt(i));
+                if (trie.get(state)[symbol] < 0) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(emptyRow(classes));
+                    ends.add(new ArrayList<>());
+                }
+                state = trie.get(state)[symbol];
+            }
+            ends.get(state).add(phrase.length());
+            maxLength = Math.max(maxLength, phrase.length());
+        }
+
+        int states = trie.size();
+        int[][] transitions = trie.toArray(new int[0][]);
+        int[] failure = new int[states];
+        int[][] outputs = new int[states][];
+        outputs[0] = toArray(ends.get(0));
+
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < classes; symbol++) {
+            int child = transitions[0][symbol];
+            if (child < 0) {
+                transitions[0][symbol] = 0;
+            } else {
+                failure[child] = 0;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            List<Integer> lengths = new ArrayList<>(ends.get(state));
+            for (int length : outputs[failure[state]]) lengths.add(length);
+            outputs[state] = toArray(lengths);
+
+            for (int symbol = 0; symbol < classes; symbol++) {
+                int child = transitions[state][symbol];
+                if (child < 0) {
+                    transitions[state][symbol] = transitions[failure[state]][symbol];
+                } else {
+                    failure[child] = transitions[failure[state]][symbol];
+                    queue.add(child);
+                }
+            }
+        }
+        return new ConcessionMatcher(alphabet, transitions, outputs, maxLength);
+    }
+
+    public boolean matches(CharSequence text) {
+        Scanner scanner = scanner();
+        scanner.feed(text);
+        return scanner.finish();
+    }
+
+    public Scanner scanner() {
+        return new Scanner();
+    }
+
+    public final class Scanner {
+
+        // The last few characters fed, enough to look one character behind the longest phrase.
+        private final char[] recent = new char[maxLength + 1];
+        private long position;
+        private int state;
+        private boolean lastWasSpace = true;
+        private boolean pending;
+        private boolean matched;
+
+        private Scanner() {
+        }
+
+        public boolean feed(CharSequence text) {
+            for (int i = 0; i < text.length() && !matched; i++) {
+                feed(text.charAt(i));
+            }
+            return matched;
+        }
+
+        public boolean feed(char c) {
+            if (matched) return true;
+            if (Character.isWhitespace(c)) {
+                if (lastWasSpace) return false;
+                lastWasSpace = true;
+                c = ' ';
+            } else {
+                lastWasSpace = false;
+                c = normalize(c);
+            }
+
+            // A phrase that ended on the previous character only counts if the word ends there too.
+            if (pending) {
+                pending = false;
+                if (!isWordChar(c)) return matched = true;
+            }
+
+            recent[(int) (position % recent.length)] = c;
+            position++;
+            Integer symbol = alphabet.get(c);
+            state = transitions[state][symbol == null ? 0 : symbol];
+            for (int length : outputs[state]) {
+                if (!startsOnBoundary(length)) continue;
+                if (!isWordChar(c)) return matched = true;
+                pending = true;
+            }
+            return false;
+        }
+
+        public boolean finish() {
+            if (pending) {
+                pending = false;
+                matched = true;
+            }
+            return matched;
+        }
+
+        public boolean isMatched() {
+            return matched;
+        }
+
+        private boolean startsOnBoundary(int length) {
+            long start = position - length;
+            if (start == 0) return true;
+            return !isWordChar(charAt(start)) || !isWordChar(charAt(start - 1));
+        }
+
+        private char charAt(long index) {
+            return recent[(int) (index % recent.length)];
+        }
+    }
+
+    private static String normalize(String phrase) {
+        StringBuilder builder = new StringBuilder(phrase.length());
+        boolean lastWasSpace = true;
+        for (int i = 0; i < phrase.length(); i++) {
+            char c = phrase.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (!lastWasSpace) builder.append(' ');
+                lastWasSpace = true;
+            } else {
+                builder.append(normalize(c));
+                lastWasSpace = false;
+            }
+        }
+        int end = builder.length();
+        if (end > 0 && builder.charAt(end - 1) == ' ') builder.setLength(end - 1);
+        return builder.toString();
+    }
+
+    private static char normalize(char c) {
+        if (c == '’' || c == '‘') return '\'';
+        return Character.toLowerCase(c);
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+
+    private static int[] emptyRow(int classes) {
+        int[] row = new int[classes];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        if (values.isEmpty()) return NO_OUTPUTS;
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,86 @@
+package com.bruhdows.debatebot.debate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ConversationHistory {
+
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private final Turn[] turns;
+    private final int charBudget;
+    private final StringBuilder window = new StringBuilder();
+    private int head;
+    private int size;
+    private int totalChars;
+    private String cachedContext;
+
+    public ConversationHistory(int capacity, int charBudget) {
+        this.turns = new Turn[Math.max(1, capacity)];
+        this.charBudget = charBudget;
+    }
+
+    public synchronized void add(Turn.Role role, String content) {
+        Turn turn = new Turn(role, content);
+        if (size == turns.length) {
+            evictOldest();
+        }
+
+        turns[(head + size) % turns.length] = turn;
+        size++;
+        totalChars += turn.content().length();
+
+        if (size > 1) window.append('\n');
+        turn.renderTo(window);
+
+        while (charBudget > 0 && size > 1 && totalChars > charBudget) {
+            evictOldest();
+        }
+        cachedContext = null;
+    }
+
+    private void evictOldest() {
+        Turn oldest = turns[head];
+        turns[head] = null;
+        head = (head + 1) % turns.length;
+        size--;
+        totalChars -= oldest.content().length();
+
+        int rendered = oldest.renderedLength();
+        window.delete(0, size > 0 ? rendered + 1 : rendered);
+    }
+
+    public synchronized String getContext() {
+        if (cachedContext == null) {
+            cachedContext = window.toString();
+        }
+        return cachedContext;
+    }
+
+    public synchronized String getContext(int maxTurns) {
+        if (maxTurns >= size) return getContext();
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = size - maxTurns; i < size; i++) {
+            if (builder.length() > 0) builder.append('\n');
+            turns[(head + i) % turns.length].renderTo(builder);
+        }
+        return builder.toString();
+    }
+
+    public synchronized Turn getLast() {
+        return size == 0 ? null : turns[(head + size - 1) % turns.length];
+    }
+
+    public synchronized List<Turn> getTurns() {
+        List<Turn> snapshot = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            snapshot.add(turns[(head + i) % turns.length]);
+        }
+        return snapshot;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+}
@@ -1,5 +1,6 @@
 package com.bruhdows.debatebot.debate;
 
+import net.dv8tion.jda.api.events.session.ReadyEvent;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
@@ -8,10 +9,15 @@ import org.jetbrains.annotations.NotNull;
 import java.util.Objects;
 
 public class DebateListener extends ListenerAdapter {
-    private final DebateManager debateManager;
+    private final DebateShards shards;
 
-    public DebateListener(DebateManager debateManager) {
-        this.debateManager = debateManager;
+    public DebateListener(DebateShards shards) {
+        this.shards = shards;
+    }
+
+    @Override
+    public void onReady(@NotNull ReadyEvent event) {
+        shards.get(event.getJDA());
     }
 
     @Override
@@ -22,14 +28,18 @@ public class DebateListener extends ListenerAdapter {
                     Objects.requireNonNull(event.getOption("opening_prompt")).getAsString() : null;
             String replyPrompt = event.getOption("reply_prompt") != null ?
                     Objects.requireNonNull(event.getOption("reply_prompt")).getAsString() : null;
+            boolean fresh = event.getOption("fresh") != null &&
+                    Objects.requireNonNull(event.getOption("fresh")).getAsBoolean();
 
-            debateManager.startDebate(event, topic, openingPrompt, replyPrompt);
+            shards.get(event.getJDA()).startDebate(event, topic, openingPrompt, replyPrompt, !fresh);
             event.reply("Starting debate thread...").setEphemeral(true).queue();
         }
     }
 
     @Override
     public void onMessageReceived(@NotNull MessageReceivedEvent event) {
-        debateManager.handleMessage(event);
+        // Nearly all guild traffic is outside debate threads; drop it before any map lookup or allocation.
+        if (!event.isFromThread() || !shards.isDebateThread(event.getChannel().getIdLong())) return;
+        shards.get(event.getJDA()).handleMessage(event);
     }
 }
\ No newline at end of file
@@ -1,119 +1,299 @@
 package com.bruhdows.debatebot.debate;
 
+import com.bruhdows.debatebot.client.ChatMessage;
 import com.bruhdows.debatebot.client.LanguageModelClient;
+import com.bruhdows.debatebot.client.LanguageModelException;
+import com.bruhdows.debatebot.client.StreamHandle;
 import com.bruhdows.debatebot.config.Config;
+import com.bruhdows.debatebot.config.PromptTemplate;
+import com.bruhdows.debatebot.debate.context.ContextBuilder;
+import com.bruhdows.debatebot.debate.context.HeuristicTokenEstimator;
+import com.bruhdows.debatebot.debate.context.PromptContext;
+import com.bruhdows.debatebot.debate.store.SessionStore;
+import com.bruhdows.debatebot.debate.store.StoredSession;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
 import net.dv8tion.jda.api.entities.channel.concrete.ThreadChannel;
 import net.dv8tion.jda.api.entities.channel.middleman.MessageChannel;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 public class DebateManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DebateManager.class);
+    private static final String HISTORY_IN_MESSAGES = "see the conversation below";
+
     private final Map<Long, DebateSession> sessions = new ConcurrentHashMap<>();
     private final LanguageModelClient client;
-    private final Config config;
+    private volatile Config config;
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+    private volatile ContextBuilder contextBuilder;
+    private final SessionStore store;
+    private final SessionExpiryWheel expiry;
+    private final GenerationScheduler generations;
+    private volatile OpeningCache openingCache;
+    private final ActiveThreadSet debateThreads;
+    private final EditRateLimits editRateLimits;
+    private final String modelKey;
+    private volatile ConcessionMatcher humanConcession;
+    private volatile ConcessionMatcher botConcession;
+    private final Counter lockRejections = Metrics.counter("debate.session.lock.rejections");
+    private final JDA jda;
+    private ScheduledFuture<?> expiryTask;
 
-    public DebateManager(LanguageModelClient client, Config config) {
+    public DebateManager(JDA jda, LanguageModelClient client, Config config, SessionStore store,
+                         GenerationScheduler generations, OpeningCache openingCache, ActiveThreadSet debateThreads,
+                         EditRateLimits editRateLimits, int shardId, int shardsTotal) {
+        this.jda = jda;
         this.client = client;
         this.config = config;
-        cleanupOldSessions();
+        this.store = store;
+        this.generations = generations;
+        this.openingCache = openingCache;
+        this.debateThreads = debateThreads;
+        this.editRateLimits = editRateLimits;
+        this.contextBuilder = new ContextBuilder(new HeuristicTokenEstimator(), config.getPromptTokenBudget());
+        this.expiry = new SessionExpiryWheel(
+                TimeUnit.MINUTES.toMillis(config.getSessionIdleTtlMinutes()),
+                TimeUnit.SECONDS.toMillis(Math.max(1, config.getSessionExpiryTickSeconds())),
+                System.currentTimeMillis());
+        this.humanConcession = ConcessionMatcher.of(config.getHumanConcessionPhrases());
+        this.botConcession = ConcessionMatcher.of(config.getBotConcessionPhrases());
+        this.modelKey = config.getBackends().isEmpty()
+                ? config.getApiType() + ":" + config.getApiModel()
+                : config.getBackends().stream()
+                .map(backend -> backend.getApiType() + ":" + backend.getApiModel())
+                .sorted()
+                .collect(Collectors.joining(","));
+        Gauge.builder("debate.sessions.active", sessions, Map::size)
+                .description("Debate sessions held in memory")
+                .tag("shard", Integer.toString(shardId))
+                .register(Metrics.globalRegistry);
+
+        long now = System.currentTimeMillis();
+        List<Long> restored = new ArrayList<>();
+        store.getThreadGuilds().forEach((threadId, guildId) -> {
+            // Records written before sessions carried a guild can only be placed when there is one shard.
+            // With more shards they stay visible to the filter and whichever shard sees the thread restores them.
+            boolean owned = guildId == 0 ? shardsTotal == 1 : shardOf(guildId, shardsTotal) == shardId;
+            if (owned) expiry.touch(threadId, now);
+            if (owned || guildId == 0) restored.add(threadId);
+        });
+        debateThreads.addAll(restored.stream().mapToLong(Long::longValue).toArray());
+        scheduleExpiry();
     }
 
-    public void startDebate(SlashCommandInteractionEvent event, String topic, String openingPrompt, String replyPrompt) {
+    public synchronized void reload(Config config, OpeningCache openingCache) {
+        Config previous = this.config;
+        this.humanConcession = ConcessionMatcher.of(config.getHumanConcessionPhrases());
+        this.botConcession = ConcessionMatcher.of(config.getBotConcessionPhrases());
+        this.openingCache = openingCache;
+        if (config.getPromptTokenBudget() != previous.getPromptTokenBudget()) {
+            this.contextBuilder = new ContextBuilder(contextBuilder.getEstimator(), config.getPromptTokenBudget());
+        }
+        this.config = config;
+
+        if (config.getSessionIdleTtlMinutes() != previous.getSessionIdleTtlMinutes()
+                || config.getSessionExpiryTickSeconds() != previous.getSessionExpiryTickSeconds()) {
+            expiry.reconfigure(TimeUnit.MINUTES.toMillis(config.getSessionIdleTtlMinutes()),
+                    TimeUnit.SECONDS.toMillis(Math.max(1, config.getSessionExpiryTickSeconds())),
+                    System.currentTimeMillis());
+            expiryTask.cancel(false);
+            scheduleExpiry();
+        }
+    }
+
+    public static int shardOf(long guildId, int shardsTotal) {
+        return (int) ((guildId >>> 22) % shardsTotal);
+    }
+
+    public void startDebate(SlashCommandInteractionEvent event, String topic, String openingPrompt, String replyPrompt,
+                            boolean useCache) {
         MessageChannel channel = event.getChannel();
         if (!(channel instanceof TextChannel textChannel)) {
             channel.sendMessage("This command can only be used in a text channel.").queue();
             return;
         }
 
-        String finalOpeningPrompt = openingPrompt != null && !openingPrompt.isEmpty()
-                ? openingPrompt : config.getOpeningSystemPrompt();
-        String finalReplyPrompt = replyPrompt != null && !replyPrompt.isEmpty()
-                ? replyPrompt : config.getReplySystemPrompt();
+        String customOpeningPrompt = openingPrompt != null && !openingPrompt.isEmpty() ? openingPrompt : null;
+        String customReplyPrompt = replyPrompt != null && !replyPrompt.isEmpty() ? replyPrompt : null;
 
         textChannel.createThreadChannel("Debate: " + topic)
                 .queue(thread -> {
                     DebateSession session = new DebateSession();
                     session.setThreadId(thread.getIdLong());
+                    session.setGuildId(textChannel.getGuild().getIdLong());
                     session.setTopic(topic);
                     session.setLeaderUserId(event.getUser().getId());
-                    session.setOpeningPrompt(finalOpeningPrompt);
-                    session.setReplyPrompt(finalReplyPrompt);
+                    session.setOpeningPrompt(customOpeningPrompt);
+                    session.setReplyPrompt(customReplyPrompt);
+                    session.setHistory(new ConversationHistory(
+                            config.getHistoryCapacity(), config.getHistoryCharBudget()));
                     sessions.put(thread.getIdLong(), session);
+                    debateThreads.add(thread.getIdLong());
+                    Metrics.counter("debate.sessions.started").increment();
+                    expiry.touch(thread.getIdLong(), System.currentTimeMillis());
+                    store.saveSession(session);
 
                     thread.sendMessage("**Topic: " + topic + "**\n\nAI starts:").queue(msg -> {
                         session.setCurrentReplyMessage(msg);
-                        generateFirstResponse(session);
+                        generateFirstResponse(session, thread, useCache);
                         thread.sendTyping().queue();
                     });
                 });
     }
 
-    private void generateFirstResponse(DebateSession session) {
-        if (!session.tryLock()) return;
+    private void generateFirstResponse(DebateSession session, ThreadChannel thread, boolean useCache) {
+        if (!session.tryLock()) {
+            lockRejections.increment();
+            return;
+        }
         if (session.isClosed()) {
-            session.unlock();
+            releaseSession(session, thread);
             return;
         }
 
-        String systemPrompt = session.getOpeningPrompt().formatted(session.getTopic());
-
-        AtomicLong startTime = new AtomicLong(System.currentTimeMillis());
-        StringBuilder fullResponse = new StringBuilder();
-
-        client.streamResponse(systemPrompt, "Start debate.",
-                token -> {
-                    fullResponse.append(token);
-                    long elapsed = System.currentTimeMillis() - startTime.get();
-                    if (elapsed > 800) {
-                        session.getCurrentReplyMessage()
-                                .editMessage(fullResponse.toString().trim()).queue();
-                        startTime.set(System.currentTimeMillis());
-                    }
-                },
-                () -> {
-                    String finalText = fullResponse.toString().trim();
-                    if (!finalText.isEmpty()) {
-                        session.getCurrentReplyMessage()
-                                .editMessage(finalText + "\n\n**Your turn!**").queue();
-                        session.addBotMessage(finalText);
-                    }
-                    session.unlock();
+        PromptTemplate template = session.getOpeningTemplate();
+        OpeningCache openingCache = this.openingCache;
+        if (openingCache != null && useCache) {
+            Optional<String> cached = openingCache.get(session.getTopic(), template.source(), modelKey);
+            if (cached.isPresent()) {
+                session.getCurrentReplyMessage().editMessage(cached.get() + "\n\n**Your turn!**").queue();
+                addBotMessage(session, cached.get());
+                if (openingCache.claimFill(session.getTopic(), template.source(), modelKey)) {
+                    fillOpening(openingCache, session, thread, template);
+                }
+                releaseSession(session, thread);
+                return;
+            }
+        }
+
+        List<ChatMessage> messages = openingMessages(template, session.getTopic());
+        contextBuilder.recordPrompt(messages);
+
+        StreamingMessageEditor editor = createEditor(session.getCurrentReplyMessage(), thread);
+
+        schedule(GenerationScheduler.Kind.OPENING, session, thread, editor, messages, null, result -> {
+            String finalText = result.text();
+            if (!finalText.isEmpty()) {
+                editor.complete(finalText + "\n\n**Your turn!**");
+                addBotMessage(session, finalText);
+                if (openingCache != null && result.error() == null) {
+                    openingCache.put(session.getTopic(), template.source(), modelKey, finalText);
+                }
+            } else {
+                editor.complete(errorNotice(result.error()));
+            }
+            releaseSession(session, thread);
+        });
+    }
+
+    // Generates one more variant for a topic that was just served from the cache, behind all live generations.
+    private void fillOpening(OpeningCache openingCache, DebateSession session, ThreadChannel thread,
+                             PromptTemplate template) {
+        String topic = session.getTopic();
+        List<ChatMessage> messages = openingMessages(template, topic);
+        generations.submit(GenerationScheduler.Kind.BACKGROUND, thread.getGuild().getIdLong(),
+                session.getLastActivity().toEpochMilli(), release -> {
+                    StringBuilder text = new StringBuilder();
+                    AtomicBoolean failed = new AtomicBoolean();
+                    client.streamChat(session.getThreadId(), messages, text::append, error -> failed.set(true), () -> {
+                        release.run();
+                        String opening = text.toString().trim();
+                        boolean usable = !failed.get() && !opening.isEmpty()
+                                && opening.length() <= ReplySubscriber.MESSAGE_CHAR_LIMIT;
+                        openingCache.completeFill(topic, template.source(), modelKey, usable ? opening : null);
+                    });
                 });
     }
 
+    private static List<ChatMessage> openingMessages(PromptTemplate template, String topic) {
+        return List.of(ChatMessage.system(template.render(topic)), ChatMessage.user("Start debate."));
+    }
+
     public void handleMessage(MessageReceivedEvent event) {
         if (event.getAuthor().isBot()) return;
         MessageChannel channel = event.getChannel();
         if (!(channel instanceof ThreadChannel thread)) return;
 
+        String content = event.getMessage().getContentRaw();
         DebateSession session = sessions.get(thread.getIdLong());
-        if (session == null || !session.tryLock()) {
-            channel.sendMessage("Still thinking...").queue();
+        if (session != null) {
+            handleTurn(session, thread, content);
+        } else if (store.contains(thread.getIdLong())) {
+            store.load(thread.getIdLong()).thenAcceptAsync(stored -> stored
+                    .map(restored -> sessions.computeIfAbsent(restored.threadId(), id -> restoreSession(restored, thread.getGuild().getIdLong())))
+                    .ifPresent(restored -> handleTurn(restored, thread, content)), scheduler);
+        }
+    }
+
+    private void handleTurn(DebateSession session, ThreadChannel thread, String content) {
+        if (session.isClosed()) return;
+
+        if (!session.offerMessage(content, config.getMailboxCapacity())) {
+            LOGGER.debug("Mailbox full for debate {}, dropping message", session.getThreadId());
             return;
         }
+        // While a reply streams, messages wait in the mailbox until releaseSession batches them.
+        if (session.tryScheduleIdleDispatch()) {
+            scheduler.execute(() -> dispatchMailbox(session, thread));
+        }
+    }
 
-        if (session.isClosed()) {
+    private void scheduleDispatch(DebateSession session, ThreadChannel thread) {
+        if (!session.tryScheduleDispatch()) return;
+        scheduleDebounced(session, thread);
+    }
+
+    private void scheduleDebounced(DebateSession session, ThreadChannel thread) {
+        long debounceMillis = config.getMailboxDebounceMillis();
+        long delay = session.debounceRemaining(System.currentTimeMillis(), debounceMillis);
+        scheduler.schedule(() -> {
+            // Every message that arrived in the meantime restarts the window.
+            if (session.debounceRemaining(System.currentTimeMillis(), debounceMillis) > 0) {
+                scheduleDebounced(session, thread);
+            } else {
+                dispatchMailbox(session, thread);
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void dispatchMailbox(DebateSession session, ThreadChannel thread) {
+        session.dispatchStarted();
+        if (!session.tryLock()) {
+            lockRejections.increment();
+            return;
+        }
+
+        List<String> batch = session.drainMessages();
+        if (batch.isEmpty() || session.isClosed()) {
             session.unlock();
             return;
         }
 
         try {
-            String content = event.getMessage().getContentRaw();
-            session.addUserMessage(content);
+            String content = String.join("\n", batch);
+            addUserMessage(session, content);
 
-            if (containsConcede(content)) {
+            if (humanConcession.matches(content)) {
                 thread.sendMessage("**Human concedes! AI wins. 🏆**").queue();
                 closeSession(session, thread);
                 return;
@@ -121,70 +301,194 @@ public class DebateManager {
 
             replyInThread(session, thread);
         } catch (Exception e) {
-            session.unlock();
+            LOGGER.error("Failed to reply in debate {}", session.getThreadId(), e);
+            releaseSession(session, thread);
         }
     }
 
-    private void replyInThread(DebateSession session, ThreadChannel thread) {
+    private void releaseSession(DebateSession session, ThreadChannel thread) {
+        session.unlock();
+        if (!session.isClosed() && session.hasPendingMessages()) {
+            scheduleDispatch(session, thread);
+        }
+    }
+
+    private DebateSession restoreSession(StoredSession stored, long guildId) {
+        DebateSession session = new DebateSession();
+        session.setGuildId(guildId);
+        session.setThreadId(stored.threadId());
+        session.setTopic(stored.topic());
+        session.setLeaderUserId(stored.leaderUserId());
+        session.setOpeningPrompt(stored.openingPrompt());
+        session.setReplyPrompt(stored.replyPrompt());
+        session.setHistory(new ConversationHistory(
+                config.getHistoryCapacity(), config.getHistoryCharBudget()));
+        for (Turn turn : stored.turns()) {
+            session.getHistory().add(turn.role(), turn.content());
+        }
+        expiry.touch(stored.threadId(), System.currentTimeMillis());
+        Metrics.counter("debate.sessions.restored").increment();
+        return session;
+    }
+
+    private void addUserMessage(DebateSession session, String content) {
+        session.addUserMessage(content);
+        expiry.touch(session.getThreadId(), System.currentTimeMillis());
+        store.appendTurn(session.getThreadId(), new Turn(Turn.Role.USER, content));
+    }
+
+    private void addBotMessage(DebateSession session, String content) {
         if (session.isClosed()) return;
+        session.addBotMessage(content);
+        expiry.touch(session.getThreadId(), System.currentTimeMillis());
+        store.appendTurn(session.getThreadId(), new Turn(Turn.Role.BOT, content));
+    }
+
+    private void replyInThread(DebateSession session, ThreadChannel thread) {
+        if (session.isClosed()) {
+            releaseSession(session, thread);
+            return;
+        }
+
+        String systemPrompt = session.getReplyTemplate().render(session.getTopic(), HISTORY_IN_MESSAGES);
+        int reservedTokens = contextBuilder.getEstimator().estimate(systemPrompt);
+        PromptContext context = contextBuilder.build(session.getHistory(), reservedTokens);
+
+        List<ChatMessage> messages = new ArrayList<>(context.turns().size() + 1);
+        messages.add(ChatMessage.system(systemPrompt));
+        for (Turn turn : context.turns()) {
+            messages.add(turn.toChatMessage());
+        }
+        contextBuilder.recordPrompt(messages);
 
         thread.sendTyping().queue();
-        Message msg = thread.sendMessage("🤔 AI thinking...").complete();
+        thread.sendMessage("🤔 AI thinking...").queue(
+                msg -> streamReply(session, thread, msg, messages),
+                error -> releaseSession(session, thread));
+    }
+
+    private void streamReply(DebateSession session, ThreadChannel thread, Message msg,
+                             List<ChatMessage> messages) {
         session.setCurrentReplyMessage(msg);
 
-        String context = session.getContext(16);
-        String systemPrompt = session.getReplyPrompt()
-                .formatted(session.getTopic(), context);
-
-        AtomicLong startTime = new AtomicLong(System.currentTimeMillis());
-        StringBuilder fullResponse = new StringBuilder();
-
-        client.streamResponse(systemPrompt, session.getHistory().getLast(),
-                token -> {
-                    fullResponse.append(token);
-                    long elapsed = System.currentTimeMillis() - startTime.get();
-                    if (elapsed > 800) {
-                        msg.editMessage(fullResponse.toString().trim()).queue();
-                        startTime.set(System.currentTimeMillis());
-                    }
-                },
-                () -> {
-                    String finalText = fullResponse.toString().trim();
-                    if (!finalText.isEmpty()) {
-                        msg.editMessage(finalText).queue();
-                        session.addBotMessage(finalText);
-
-                        if (containsBotConcede(finalText)) {
-                            thread.sendMessage("**AI concedes! Human wins. 🎉**").queue();
-                            closeSession(session, thread);
-                        }
-                    }
-                    session.unlock();
-                });
+        StreamingMessageEditor editor = createEditor(msg, thread);
+
+        schedule(GenerationScheduler.Kind.REPLY, session, thread, editor, messages, botConcession, result -> {
+            String finalText = result.text();
+            if (!finalText.isEmpty()) {
+                editor.complete(finalText);
+                addBotMessage(session, finalText);
+
+                if (result.conceded()) {
+                    thread.sendMessage("**AI concedes! Human wins. 🎉**").queue();
+                    closeSession(session, thread);
+                }
+            } else {
+                editor.complete(errorNotice(result.error()));
+            }
+            releaseSession(session, thread);
+        });
+    }
+
+    private void schedule(GenerationScheduler.Kind kind, DebateSession session, ThreadChannel thread,
+                          StreamingMessageEditor editor, List<ChatMessage> messages,
+                          ConcessionMatcher concession, Consumer<ReplySubscriber.Result> onDone) {
+        generations.submit(kind, thread.getGuild().getIdLong(), session.getLastActivity().toEpochMilli(), release -> {
+            if (session.isClosed()) {
+                release.run();
+                releaseSession(session, thread);
+                return;
+            }
+            ReplySubscriber subscriber = new ReplySubscriber(editor, concession, config.isConcessionEarlyStop(), result -> {
+                release.run();
+                if (finishStream(session, editor)) onDone.accept(result);
+            });
+            StreamHandle stream = subscriber.getHandle();
+            stream.whenCancelled(release);
+            stream.whenCancelled(() -> editor.complete(null));
+            session.setActiveStream(stream);
+            client.stream(session.getThreadId(), messages).subscribe(subscriber);
+            if (session.isClosed()) stream.cancel();
+        });
+    }
+
+    private boolean finishStream(DebateSession session, StreamingMessageEditor editor) {
+        StreamHandle stream = session.getActiveStream();
+        session.setActiveStream(null);
+        if (stream != null && stream.isCancelled()) {
+            editor.complete(null);
+            return false;
+        }
+        return true;
+    }
+
+    private StreamingMessageEditor createEditor(Message message, ThreadChannel thread) {
+        return new StreamingMessageEditor(message, thread.getIdLong(), editRateLimits, scheduler,
+                config.getEditIntervalMillis(), config.getEditMaxIntervalMillis());
     }
 
     private void closeSession(DebateSession session, ThreadChannel thread) {
+        discardSession(session);
+        Metrics.counter("debate.sessions.ended", "reason", "concede").increment();
+        thread.getManager().setLocked(true).setArchived(true).queue();
+    }
+
+    private void discardSession(DebateSession session) {
         session.setClosed(true);
-        thread.getManager().setLocked(true).queue();
-        thread.getManager().setArchived(true).queue();
+        session.setCurrentReplyMessage(null);
+        StreamHandle stream = session.getActiveStream();
+        if (stream != null) {
+            stream.cancel();
+            session.unlock();
+        }
+        sessions.remove(session.getThreadId(), session);
+        debateThreads.remove(session.getThreadId());
+        expiry.remove(session.getThreadId());
+        store.deleteSession(session.getThreadId());
+    }
+
+    // Also used when the model finishes without any text, so the placeholder never stays up.
+    private static String errorNotice(LanguageModelException error) {
+        if (error == null) return "⚠️ The AI returned an empty response. Send your argument again to retry.";
+        return error.getStatusCode() == 429
+                ? "⚠️ The AI is rate limited right now. Send your argument again in a moment."
+                : "⚠️ The AI failed to respond. Send your argument again to retry.";
     }
 
-    private boolean containsConcede(String message) {
-        String lower = message.toLowerCase();
-        return lower.contains("concede") || lower.contains("you win") ||
-                lower.contains("gg") || lower.contains("good game");
+    public void shutdown() {
+        for (DebateSession session : sessions.values()) {
+            StreamHandle stream = session.getActiveStream();
+            if (stream != null) stream.cancel();
+        }
+        scheduler.shutdown();
     }
 
-    private boolean containsBotConcede(String message) {
-        String lower = message.toLowerCase();
-        return lower.contains("i concede") || lower.contains("you win") ||
-                lower.contains("i lose");
+    private void scheduleExpiry() {
+        long tickMillis = TimeUnit.SECONDS.toMillis(Math.max(1, config.getSessionExpiryTickSeconds()));
+        expiryTask = scheduler.scheduleAtFixedRate(() -> {
+            try {
+                expireSessions();
+            } catch (Exception e) {
+                LOGGER.error("Session expiry failed", e);
+            }
+        }, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
     }
 
-    private void cleanupOldSessions() {
-        scheduler.scheduleAtFixedRate(() -> sessions.entrySet().removeIf(entry -> {
-            DebateSession session = entry.getValue();
-            return ChronoUnit.HOURS.between(session.getLastActivity(), Instant.now()) > 1;
-        }), 0, 5, TimeUnit.MINUTES);
+    private void expireSessions() {
+        for (long threadId : expiry.advance(System.currentTimeMillis())) {
+            ThreadChannel thread = jda.getThreadChannelById(threadId);
+            DebateSession session = sessions.get(threadId);
+            if (session != null) {
+                discardSession(session);
+                Metrics.counter("debate.sessions.ended", "reason", "expired").increment();
+            } else {
+                debateThreads.remove(threadId);
+                store.deleteSession(threadId);
+            }
+            if (thread != null) {
+                thread.getManager().setLocked(true).setArchived(true).queue();
+            }
+            LOGGER.debug("Expired idle debate {}", threadId);
+        }
     }
 }
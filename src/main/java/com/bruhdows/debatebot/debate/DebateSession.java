@@ -1,28 +1,46 @@
 package com.bruhdows.debatebot.debate;
 
 import com.bruhdows.debatebot.DebateBot;
+import com.bruhdows.debatebot.client.StreamHandle;
+import com.bruhdows.debatebot.config.PromptTemplate;
+import com.bruhdows.debatebot.config.PromptTemplates;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Setter;
 import net.dv8tion.jda.api.entities.Message;
 
 import java.time.Instant;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 
 @Data
 public class DebateSession {
 
     private long threadId;
+    private long guildId;
     private String topic;
-    private List<String> history = new ArrayList<>();
+    private ConversationHistory history = new ConversationHistory(ConversationHistory.DEFAULT_CAPACITY, 0);
     private boolean isLocked = false;
     private Message currentReplyMessage;
     private boolean isBotTurn = true;
     private Instant lastActivity = Instant.now();
     private String leaderUserId;
-    private boolean closed = false;
+    private volatile boolean closed = false;
+    private volatile StreamHandle activeStream;
 
+    // Custom prompts given with /debate; null means the session follows the configured prompts.
     private String openingPrompt;
     private String replyPrompt;
+    @Setter(AccessLevel.NONE)
+    private PromptTemplate openingTemplate;
+    @Setter(AccessLevel.NONE)
+    private PromptTemplate replyTemplate;
+
+    private final Deque<String> mailbox = new ArrayDeque<>();
+    private boolean dispatchScheduled = false;
+    private long lastMessageAt;
 
     public synchronized boolean tryLock() {
         if (isLocked) return false;
@@ -34,27 +52,77 @@ public class DebateSession {
         isLocked = false;
     }
 
+    public synchronized boolean offerMessage(String content, int capacity) {
+        if (mailbox.size() >= capacity) return false;
+        mailbox.add(content);
+        lastMessageAt = System.currentTimeMillis();
+        return true;
+    }
+
+    public synchronized List<String> drainMessages() {
+        List<String> drained = new ArrayList<>(mailbox);
+        mailbox.clear();
+        return drained;
+    }
+
+    public synchronized boolean hasPendingMessages() {
+        return !mailbox.isEmpty();
+    }
+
+    public synchronized boolean tryScheduleDispatch() {
+        if (dispatchScheduled) return false;
+        dispatchScheduled = true;
+        return true;
+    }
+
+    // Only an idle session with nothing already on its way dispatches straight away; anything else is batched.
+    public synchronized boolean tryScheduleIdleDispatch() {
+        if (isLocked) return false;
+        return tryScheduleDispatch();
+    }
+
+    public synchronized long debounceRemaining(long now, long debounceMillis) {
+        return Math.max(0, lastMessageAt + debounceMillis - now);
+    }
+
+    public synchronized void dispatchStarted() {
+        dispatchScheduled = false;
+    }
+
     public void addUserMessage(String content) {
-        history.add("USER: " + content);
+        history.add(Turn.Role.USER, content);
         lastActivity = Instant.now();
     }
 
     public void addBotMessage(String content) {
-        history.add("BOT: " + content);
+        history.add(Turn.Role.BOT, content);
         lastActivity = Instant.now();
         isBotTurn = false;
     }
 
+    public String getContext() {
+        return history.getContext();
+    }
+
     public String getContext(int maxMessages) {
-        return String.join("\n", history.subList(
-                Math.max(0, history.size() - maxMessages), history.size()));
+        return history.getContext(maxMessages);
+    }
+
+    public void setOpeningPrompt(String openingPrompt) {
+        this.openingPrompt = openingPrompt;
+        this.openingTemplate = openingPrompt != null ? PromptTemplates.opening(openingPrompt) : null;
+    }
+
+    public void setReplyPrompt(String replyPrompt) {
+        this.replyPrompt = replyPrompt;
+        this.replyTemplate = replyPrompt != null ? PromptTemplates.reply(replyPrompt) : null;
     }
 
-    public String getOpeningPrompt() {
-        return openingPrompt != null ? openingPrompt : DebateBot.getConfig().getOpeningSystemPrompt();
+    public PromptTemplate getOpeningTemplate() {
+        return openingTemplate != null ? openingTemplate : DebateBot.getPrompts().opening();
     }
 
-    public String getReplyPrompt() {
-        return replyPrompt != null ? replyPrompt : DebateBot.getConfig().getReplySystemPrompt();
+    public PromptTemplate getReplyTemplate() {
+        return replyTemplate != null ? replyTemplate : DebateBot.getPrompts().reply();
     }
 }
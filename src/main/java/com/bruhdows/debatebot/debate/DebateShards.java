@@ -0,0 +1,104 @@
+package com.bruhdows.debatebot.debate;
+
+import com.bruhdows.debatebot.client.LanguageModelClient;
+import com.bruhdows.debatebot.config.Config;
+import com.bruhdows.debatebot.debate.store.SessionStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import net.dv8tion.jda.api.JDA;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+public class DebateShards {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DebateShards.class);
+
+    private final LanguageModelClient client;
+    private volatile Config config;
+    private final SessionStore store;
+    private final GenerationScheduler generations;
+    private final int backendCapacity;
+    private volatile OpeningCache openingCache;
+    private final ActiveThreadSet debateThreads = new ActiveThreadSet();
+    private final EditRateLimits editRateLimits = new EditRateLimits();
+    private final Map<Integer, DebateManager> managers = new ConcurrentHashMap<>();
+
+    public DebateShards(LanguageModelClient client, Config config, SessionStore store) {
+        this.client = client;
+        this.config = config;
+        this.store = store;
+        // Backend capacity and cached openings are shared by every shard in the process. The per-backend cap only
+        // applies behind the router; a single backend is bounded by generationMaxConcurrent alone. Backends are
+        // fixed until a restart, so their capacity is taken from the startup config.
+        this.backendCapacity = config.getBackends().isEmpty()
+                ? Integer.MAX_VALUE
+                : config.getBackends().size() * config.getBackendMaxConcurrent();
+        this.generations = new GenerationScheduler(Math.min(config.getGenerationMaxConcurrent(), backendCapacity),
+                config.getGenerationAgingMillis());
+        applyOpeningCacheSettings(config);
+        Gauge.builder("debate.threads.tracked", debateThreads, ActiveThreadSet::size)
+                .description("Debate threads whose messages are passed to a manager")
+                .register(Metrics.globalRegistry);
+    }
+
+    // Created on first use so a cache that starts disabled registers no meters, then kept and resized across reloads.
+    private synchronized OpeningCache applyOpeningCacheSettings(Config config) {
+        if (!config.isOpeningCacheEnabled()) return null;
+        long ttlMillis = TimeUnit.MINUTES.toMillis(config.getOpeningCacheTtlMinutes());
+        if (openingCache == null) {
+            openingCache = new OpeningCache(config.getOpeningCacheMaxEntries(), ttlMillis,
+                    config.getOpeningCacheVariants());
+        } else {
+            openingCache.reconfigure(config.getOpeningCacheMaxEntries(), ttlMillis, config.getOpeningCacheVariants());
+        }
+        return openingCache;
+    }
+
+    private OpeningCache activeOpeningCache() {
+        return config.isOpeningCacheEnabled() ? openingCache : null;
+    }
+
+    public DebateManager get(JDA jda) {
+        JDA.ShardInfo shard = jda.getShardInfo();
+        return managers.computeIfAbsent(shard.getShardId(), shardId -> {
+            LOGGER.info("Creating debate manager for shard {}", shard.getShardString());
+            return new DebateManager(jda, client, config, store, generations, activeOpeningCache(), debateThreads,
+                    editRateLimits, shardId, shard.getShardTotal());
+        });
+    }
+
+    public boolean isDebateThread(long channelId) {
+        return debateThreads.contains(channelId);
+    }
+
+    // Registered as a JDA listener so edit responses keep the per-channel buckets up to date.
+    public EditRateLimits getEditRateLimits() {
+        return editRateLimits;
+    }
+
+    public void reload(Config config) {
+        this.config = config;
+        generations.reconfigure(Math.min(config.getGenerationMaxConcurrent(), backendCapacity),
+                config.getGenerationAgingMillis());
+        OpeningCache cache = applyOpeningCacheSettings(config);
+        managers.values().forEach(manager -> manager.reload(config, cache));
+    }
+
+    public SchedulerStats getSchedulerStats() {
+        return generations.getStats();
+    }
+
+    public Optional<OpeningCacheStats> getOpeningCacheStats() {
+        return Optional.ofNullable(activeOpeningCache()).map(OpeningCache::getStats);
+    }
+
+    public void shutdown() {
+        managers.values().forEach(DebateManager::shutdown);
+        store.close();
+    }
+}
@@ -0,0 +1,65 @@
+package com.bruhdows.debatebot.debate;
+
+import net.dv8tion.jda.api.events.http.HttpRequestEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.api.requests.Route;
+import okhttp3.Headers;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Follows Discord's message-edit bucket for each channel, using the rate-limit headers on every edit response.
+public class EditRateLimits extends ListenerAdapter {
+
+    private static final String CHANNEL_PARAMETER = "channel_id=";
+    private static final int PRUNE_THRESHOLD = 1024;
+
+    private record Window(int remaining, long resetAt) {
+    }
+
+    private final Map<Long, Window> windows = new ConcurrentHashMap<>();
+
+    @Override
+    public void onHttpRequest(@NotNull HttpRequestEvent event) {
+        Route.CompiledRoute route = event.getRoute();
+        if (route.getBaseRoute() != Route.Messages.EDIT_MESSAGE || event.getResponseRaw() == null) return;
+        String major = route.getMajorParameters();
+        if (!major.startsWith(CHANNEL_PARAMETER)) return;
+
+        Headers headers = event.getResponseHeaders();
+        String remaining = headers.get("X-RateLimit-Remaining");
+        String resetAfter = headers.get("X-RateLimit-Reset-After");
+        try {
+            long channelId = Long.parseLong(major.substring(CHANNEL_PARAMETER.length()));
+            long resetAfterMillis = resetAfter != null ? (long) (Double.parseDouble(resetAfter) * 1000) : 0;
+            if (event.isRateLimit()) {
+                update(channelId, 0, Math.max(resetAfterMillis, event.getResponse().retryAfter),
+                        System.currentTimeMillis());
+            } else if (remaining != null && resetAfter != null) {
+                update(channelId, Integer.parseInt(remaining), resetAfterMillis, System.currentTimeMillis());
+            }
+        } catch (NumberFormatException ignored) {
+            // Malformed headers leave the previous window in place.
+        }
+    }
+
+    public void update(long channelId, int remaining, long resetAfterMillis, long now) {
+        windows.put(channelId, new Window(remaining, now + resetAfterMillis));
+        if (windows.size() > PRUNE_THRESHOLD) {
+            windows.values().removeIf(window -> window.resetAt() <= now);
+        }
+    }
+
+    // Spreads the edits left in the bucket over the rest of its window, and waits for the reset once none are left.
+    public long nextEditAt(long channelId, long now) {
+        Window window = windows.get(channelId);
+        if (window == null) return now;
+        if (window.resetAt() <= now) {
+            windows.remove(channelId, window);
+            return now;
+        }
+        if (window.remaining() <= 0) return window.resetAt();
+        return now + (window.resetAt() - now) / (window.remaining() + 1);
+    }
+}
@@ -0,0 +1,165 @@
+package com.bruhdows.debatebot.debate;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+public class GenerationScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationScheduler.class);
+    private static final Timer QUEUE_WAIT = Timer.builder("debate.generation.queue.wait")
+            .description("Time a generation waited for a free slot")
+            .publishPercentileHistogram()
+            .register(Metrics.globalRegistry);
+
+    public enum Kind {
+        OPENING,
+        REPLY,
+        // Work no user is waiting on, such as filling opening-cache variants; it never ages past live work.
+        BACKGROUND
+    }
+
+    private record Pending(Kind kind, long guildId, long lastActivity, long enqueuedAt, long sequence,
+                           Consumer<Runnable> task) {
+    }
+
+    private int maxConcurrent;
+    private long agingNanos;
+    private final List<Pending> pending = new ArrayList<>();
+    private final Map<Long, Long> guildLastServed = new HashMap<>();
+    private int active;
+    private long sequence;
+    private long dispatched;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+
+    public GenerationScheduler(int maxConcurrent, long agingMillis) {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.agingNanos = TimeUnit.MILLISECONDS.toNanos(agingMillis);
+        Gauge.builder("debate.generation.active", this, scheduler -> scheduler.getStats().active())
+                .register(Metrics.globalRegistry);
+        Gauge.builder("debate.generation.queued", this, scheduler -> scheduler.getStats().queued())
+                .register(Metrics.globalRegistry);
+    }
+
+    public void submit(Kind kind, long guildId, long lastActivity, Consumer<Runnable> task) {
+        synchronized (this) {
+            pending.add(new Pending(kind, guildId, lastActivity, System.nanoTime(), sequence++, task));
+        }
+        drain();
+    }
+
+    // A lower limit lets running generations finish; a higher one starts queued work straight away.
+    public void reconfigure(int maxConcurrent, long agingMillis) {
+        synchronized (this) {
+            this.maxConcurrent = Math.max(1, maxConcurrent);
+            this.agingNanos = TimeUnit.MILLISECONDS.toNanos(agingMillis);
+        }
+        drain();
+    }
+
+    public synchronized SchedulerStats getStats() {
+        return new SchedulerStats(active, pending.size(), dispatched,
+                dispatched == 0 ? 0 : totalWaitNanos / 1e6 / dispatched,
+                maxWaitNanos / 1e6);
+    }
+
+    synchronized int trackedGuilds() {
+        return guildLastServed.size();
+    }
+
+    private void drain() {
+        List<Pending> ready = new ArrayList<>();
+        synchronized (this) {
+            long now = System.nanoTime();
+            while (active < maxConcurrent && !pending.isEmpty()) {
+                Pending next = pollNext(now);
+                active++;
+                dispatched++;
+                long waited = now - next.enqueuedAt();
+                totalWaitNanos += waited;
+                maxWaitNanos = Math.max(maxWaitNanos, waited);
+                QUEUE_WAIT.record(waited, TimeUnit.NANOSECONDS);
+                // Only guilds with queued work need a turn in the rotation, so the map stays bounded by the queue.
+                if (hasPending(next.guildId())) {
+                    guildLastServed.put(next.guildId(), dispatched);
+                } else {
+                    guildLastServed.remove(next.guildId());
+                }
+                if (waited > TimeUnit.SECONDS.toNanos(1)) {
+                    LOGGER.debug("{} generation for guild {} waited {} ms in queue",
+                            next.kind(), next.guildId(), TimeUnit.NANOSECONDS.toMillis(waited));
+                }
+                ready.add(next);
+            }
+        }
+
+        for (Pending next : ready) {
+            AtomicBoolean released = new AtomicBoolean();
+            Runnable release = () -> {
+                if (!released.compareAndSet(false, true)) return;
+                synchronized (this) {
+                    active--;
+                }
+                drain();
+            };
+            try {
+                next.task().accept(release);
+            } catch (RuntimeException e) {
+                LOGGER.error("Generation task failed to start", e);
+                release.run();
+            }
+        }
+    }
+
+    private Pending pollNext(long now) {
+        Pending best = null;
+        for (Pending candidate : pending) {
+            if (best == null || compare(candidate, best, now) < 0) best = candidate;
+        }
+        pending.remove(best);
+        return best;
+    }
+
+    private boolean hasPending(long guildId) {
+        for (Pending candidate : pending) {
+            if (candidate.guildId() == guildId) return true;
+        }
+        return false;
+    }
+
+    private int compare(Pending a, Pending b, long now) {
+        // Work that has waited past the aging limit goes first in arrival order, so steady openings cannot starve
+        // replies and a busy guild cannot starve a quiet one.
+        boolean aAged = isAged(a, now);
+        boolean bAged = isAged(b, now);
+        if (aAged != bAged) return aAged ? -1 : 1;
+        if (aAged) return Long.compare(a.sequence(), b.sequence());
+
+        int byKind = a.kind().compareTo(b.kind());
+        if (byKind != 0) return byKind;
+
+        int byGuild = Long.compare(guildLastServed.getOrDefault(a.guildId(), 0L),
+                guildLastServed.getOrDefault(b.guildId(), 0L));
+        if (byGuild != 0) return byGuild;
+
+        int byActivity = Long.compare(b.lastActivity(), a.lastActivity());
+        if (byActivity != 0) return byActivity;
+
+        return Long.compare(a.sequence(), b.sequence());
+    }
+
+    private boolean isAged(Pending pending, long now) {
+        return agingNanos > 0 && pending.kind() != Kind.BACKGROUND && now - pending.enqueuedAt() >= agingNanos;
+    }
+}
@@ -0,0 +1,157 @@
+package com.bruhdows.debatebot.debate;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Metrics;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class OpeningCache {
+
+    private record Key(String topic, String template, String model) {
+    }
+
+    private static final class Entry {
+        private final long createdAt;
+        private final List<String> variants = new ArrayList<>();
+        private boolean filling;
+
+        private Entry(long createdAt) {
+            this.createdAt = createdAt;
+        }
+    }
+
+    private int maxEntries;
+    private int variantsPerTopic;
+    private long ttlMillis;
+    private final Map<Key, Entry> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public OpeningCache(int maxEntries, long ttlMillis, int variantsPerTopic) {
+        reconfigure(maxEntries, ttlMillis, variantsPerTopic);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > OpeningCache.this.maxEntries;
+            }
+        };
+        FunctionCounter.builder("debate.opening.cache.requests", this, cache -> cache.hits.get())
+                .tag("result", "hit")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("debate.opening.cache.requests", this, cache -> cache.misses.get())
+                .tag("result", "miss")
+                .register(Metrics.globalRegistry);
+    }
+
+    public Optional<String> get(String topic, String template, String model) {
+        return get(topic, template, model, System.currentTimeMillis());
+    }
+
+    // Serves as soon as one variant exists; the rest are filled in the background through claimFill.
+    Optional<String> get(String topic, String template, String model, long now) {
+        Key key = new Key(normalize(topic), template, model);
+        synchronized (this) {
+            Entry entry = liveEntry(key, now);
+            if (entry == null || entry.variants.isEmpty()) {
+                misses.incrementAndGet();
+                return Optional.empty();
+            }
+            hits.incrementAndGet();
+            return Optional.of(entry.variants.get(ThreadLocalRandom.current().nextInt(entry.variants.size())));
+        }
+    }
+
+    public void put(String topic, String template, String model, String opening) {
+        put(topic, template, model, opening, System.currentTimeMillis());
+    }
+
+    void put(String topic, String template, String model, String opening, long now) {
+        Key key = new Key(normalize(topic), template, model);
+        synchronized (this) {
+            add(key, opening, now);
+        }
+    }
+
+    // True at most once at a time per entry that still lacks variants; the caller generates one more opening and
+    // hands it to completeFill.
+    public boolean claimFill(String topic, String template, String model) {
+        return claimFill(topic, template, model, System.currentTimeMillis());
+    }
+
+    boolean claimFill(String topic, String template, String model, long now) {
+        Key key = new Key(normalize(topic), template, model);
+        synchronized (this) {
+            Entry entry = liveEntry(key, now);
+            if (entry == null || entry.filling || entry.variants.size() >= variantsPerTopic) return false;
+            entry.filling = true;
+            return true;
+        }
+    }
+
+    // A null opening means the fill failed; the next hit may claim it again.
+    public void completeFill(String topic, String template, String model, String opening) {
+        completeFill(topic, template, model, opening, System.currentTimeMillis());
+    }
+
+    void completeFill(String topic, String template, String model, String opening, long now) {
+        Key key = new Key(normalize(topic), template, model);
+        synchronized (this) {
+            Entry entry = opening != null ? add(key, opening, now) : liveEntry(key, now);
+            if (entry != null) entry.filling = false;
+        }
+    }
+
+    private Entry add(Key key, String opening, long now) {
+        Entry entry = liveEntry(key, now);
+        if (entry == null) {
+            entry = new Entry(now);
+            entries.put(key, entry);
+        }
+        if (entry.variants.size() < variantsPerTopic && !entry.variants.contains(opening)) {
+            entry.variants.add(opening);
+        }
+        return entry;
+    }
+
+    private Entry liveEntry(Key key, long now) {
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.createdAt >= ttlMillis) {
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    // Reconfigured in place so the cache keeps its entries and its registered meters across a config reload.
+    public synchronized void reconfigure(int maxEntries, long ttlMillis, int variantsPerTopic) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.variantsPerTopic = Math.max(1, variantsPerTopic);
+        if (entries == null) return;
+
+        Iterator<Key> eldest = entries.keySet().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    public synchronized OpeningCacheStats getStats() {
+        return new OpeningCacheStats(entries.size(), hits.get(), misses.get());
+    }
+
+    static String normalize(String topic) {
+        String normalized = topic.strip().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+        int end = normalized.length();
+        while (end > 0 && ".!?".indexOf(normalized.charAt(end - 1)) >= 0) end--;
+        return normalized.substring(0, end);
+    }
+}
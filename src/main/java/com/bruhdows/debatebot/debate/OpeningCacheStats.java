@@ -0,0 +1,4 @@
+package com.bruhdows.debatebot.debate;
+
+public record OpeningCacheStats(int size, long hits, long misses) {
+}
@@ -0,0 +1,88 @@
+package com.bruhdows.debatebot.debate;
+
+import com.bruhdows.debatebot.client.LanguageModelException;
+import com.bruhdows.debatebot.client.StreamHandle;
+import com.bruhdows.debatebot.client.TokenChunk;
+import lombok.Getter;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+public class ReplySubscriber implements Flow.Subscriber<TokenChunk> {
+
+    private static final int PREFETCH = 16;
+    // Discord rejects messages over 2000 characters; leave room for the "Your turn" footer.
+    static final int MESSAGE_CHAR_LIMIT = 1900;
+
+    public record Result(String text, String finishReason, LanguageModelException error, boolean conceded) {
+    }
+
+    private final StreamingMessageEditor editor;
+    private final ConcessionMatcher.Scanner concession;
+    private final boolean stopOnConcession;
+    private final Consumer<Result> onDone;
+    private final AtomicBoolean done = new AtomicBoolean();
+    @Getter
+    private final StreamHandle handle = new StreamHandle();
+    private Flow.Subscription subscription;
+    private String finishReason;
+
+    public ReplySubscriber(StreamingMessageEditor editor, ConcessionMatcher concession, boolean stopOnConcession,
+                           Consumer<Result> onDone) {
+        this.editor = editor;
+        this.concession = concession != null ? concession.scanner() : null;
+        this.stopOnConcession = stopOnConcession;
+        this.onDone = onDone;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        handle.whenCancelled(subscription::cancel);
+        subscription.request(PREFETCH);
+    }
+
+    @Override
+    public void onNext(TokenChunk chunk) {
+        if (chunk.finishReason() != null) finishReason = chunk.finishReason();
+        if (chunk.hasToken()) {
+            editor.append(chunk.token());
+            if (concession != null && concession.feed(chunk.token()) && stopOnConcession) {
+                // The verdict is already in; anything generated after it would be discarded anyway.
+                subscription.cancel();
+                finishReason = "concede";
+                finish(null);
+                return;
+            }
+            if (editor.length() >= MESSAGE_CHAR_LIMIT) {
+                subscription.cancel();
+                finishReason = "length";
+                finish(null);
+                return;
+            }
+        }
+        subscription.request(1);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        finish(throwable instanceof LanguageModelException error
+                ? error : new LanguageModelException("Token stream failed", throwable));
+    }
+
+    @Override
+    public void onComplete() {
+        finish(null);
+    }
+
+    private void finish(LanguageModelException error) {
+        if (!done.compareAndSet(false, true)) return;
+        String text = editor.getText().trim();
+        if (text.length() > MESSAGE_CHAR_LIMIT) {
+            text = text.substring(0, MESSAGE_CHAR_LIMIT).trim();
+        }
+        boolean conceded = concession != null && concession.finish();
+        onDone.accept(new Result(text, finishReason, error, conceded));
+    }
+}
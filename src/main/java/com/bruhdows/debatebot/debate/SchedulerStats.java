@@ -0,0 +1,5 @@
+package com.bruhdows.debatebot.debate;
+
+public record SchedulerStats(int active, int queued, long dispatched,
+                             double averageWaitMillis, double maxWaitMillis) {
+}
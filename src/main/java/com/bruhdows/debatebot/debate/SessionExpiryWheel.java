@@ -0,0 +1,92 @@
+package com.bruhdows.debatebot.debate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class SessionExpiryWheel {
+
+    private long tickMillis;
+    private long ttlMillis;
+    private List<Set<Long>> slots;
+    private final Map<Long, Long> deadlines = new HashMap<>();
+    private long currentTick;
+
+    public SessionExpiryWheel(long ttlMillis, long tickMillis, long nowMillis) {
+        this.tickMillis = Math.max(1, tickMillis);
+        this.ttlMillis = ttlMillis;
+        this.slots = newSlots();
+        this.currentTick = nowMillis / this.tickMillis;
+    }
+
+    // Keeps every thread's last touch and moves its deadline to the new TTL.
+    // A deadline that has already passed lands in the current slot and expires on the next advance.
+    public synchronized void reconfigure(long ttlMillis, long tickMillis, long nowMillis) {
+        long shift = ttlMillis - this.ttlMillis;
+        this.tickMillis = Math.max(1, tickMillis);
+        this.ttlMillis = ttlMillis;
+        this.slots = newSlots();
+        this.currentTick = nowMillis / this.tickMillis;
+        deadlines.replaceAll((threadId, deadline) -> Math.max(deadline + shift, nowMillis));
+        deadlines.forEach((threadId, deadline) -> slotOf(deadline).add(threadId));
+    }
+
+    public synchronized void touch(long threadId, long nowMillis) {
+        long deadline = nowMillis + ttlMillis;
+        Long previous = deadlines.put(threadId, deadline);
+        if (previous != null) {
+            slotOf(previous).remove(threadId);
+        }
+        slotOf(deadline).add(threadId);
+    }
+
+    public synchronized void remove(long threadId) {
+        Long previous = deadlines.remove(threadId);
+        if (previous != null) {
+            slotOf(previous).remove(threadId);
+        }
+    }
+
+    public synchronized List<Long> advance(long nowMillis) {
+        long nowTick = nowMillis / tickMillis;
+        long fromTick = Math.max(currentTick, nowTick - slots.size() + 1);
+        List<Long> expired = new ArrayList<>();
+
+        for (long tick = fromTick; tick <= nowTick; tick++) {
+            Iterator<Long> iterator = slots.get((int) (tick % slots.size())).iterator();
+            while (iterator.hasNext()) {
+                Long threadId = iterator.next();
+                if (deadlines.get(threadId) <= nowMillis) {
+                    iterator.remove();
+                    deadlines.remove(threadId);
+                    expired.add(threadId);
+                }
+            }
+        }
+
+        currentTick = nowTick;
+        return expired;
+    }
+
+    public synchronized int size() {
+        return deadlines.size();
+    }
+
+    // One revolution covers the whole TTL, so a slot never holds deadlines from a later lap.
+    private List<Set<Long>> newSlots() {
+        int size = (int) (ttlMillis / tickMillis) + 2;
+        List<Set<Long>> slots = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            slots.add(new HashSet<>());
+        }
+        return slots;
+    }
+
+    private Set<Long> slotOf(long deadline) {
+        return slots.get((int) ((deadline / tickMillis) % slots.size()));
+    }
+}
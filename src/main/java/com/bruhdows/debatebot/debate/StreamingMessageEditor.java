@@ -0,0 +1,119 @@
+package com.bruhdows.debatebot.debate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import net.dv8tion.jda.api.entities.Message;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+public class StreamingMessageEditor {
+
+    private static final Counter EDITS_SUCCEEDED = Metrics.counter("debate.discord.edits", "outcome", "success");
+    private static final Counter EDITS_FAILED = Metrics.counter("debate.discord.edits", "outcome", "failure");
+    private static final Timer EDIT_LATENCY = Metrics.timer("debate.discord.edit.latency");
+
+    private final Message message;
+    private final long channelId;
+    private final EditRateLimits rateLimits;
+    private final ScheduledExecutorService scheduler;
+    private final long baseIntervalMillis;
+    private final long maxIntervalMillis;
+    private final StringBuilder text = new StringBuilder();
+
+    private long lastSentAt;
+    private String lastSent;
+    private String finalContent;
+    private boolean dirty;
+    private boolean inFlight;
+    private boolean completed;
+    private ScheduledFuture<?> scheduledFlush;
+
+    public StreamingMessageEditor(Message message, long channelId, EditRateLimits rateLimits,
+                                  ScheduledExecutorService scheduler, long baseIntervalMillis, long maxIntervalMillis) {
+        this.message = message;
+        this.channelId = channelId;
+        this.rateLimits = rateLimits;
+        this.scheduler = scheduler;
+        this.baseIntervalMillis = baseIntervalMillis;
+        this.maxIntervalMillis = Math.max(baseIntervalMillis, maxIntervalMillis);
+        this.lastSentAt = System.currentTimeMillis();
+    }
+
+    public synchronized void append(String token) {
+        if (completed) return;
+        text.append(token);
+        dirty = true;
+        scheduleFlush();
+    }
+
+    public synchronized String getText() {
+        return text.toString();
+    }
+
+    public synchronized int length() {
+        return text.length();
+    }
+
+    public synchronized void complete(String content) {
+        if (completed) return;
+        completed = true;
+        finalContent = content;
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        if (!inFlight) sendFinal();
+    }
+
+    private void scheduleFlush() {
+        if (inFlight || scheduledFlush != null || !dirty) return;
+        // Never edit faster than the base interval, and otherwise as fast as the channel's edit bucket allows.
+        long now = System.currentTimeMillis();
+        long nextEditAt = Math.max(lastSentAt + baseIntervalMillis, rateLimits.nextEditAt(channelId, now));
+        long delay = Math.clamp(nextEditAt - now, 0, maxIntervalMillis);
+        scheduledFlush = scheduler.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void flush() {
+        scheduledFlush = null;
+        if (completed || inFlight || !dirty) return;
+        dirty = false;
+        send(text.toString().trim());
+    }
+
+    private void sendFinal() {
+        String content = finalContent;
+        finalContent = null;
+        if (content != null) send(content);
+    }
+
+    private void send(String content) {
+        if (content.isEmpty() || content.equals(lastSent)) {
+            scheduleFlush();
+            return;
+        }
+
+        inFlight = true;
+        lastSent = content;
+        long startedAt = System.currentTimeMillis();
+        lastSentAt = startedAt;
+        message.editMessage(content).queue(
+                success -> onEditDone(startedAt, true),
+                error -> onEditDone(startedAt, false));
+    }
+
+    private synchronized void onEditDone(long startedAt, boolean success) {
+        inFlight = false;
+        (success ? EDITS_SUCCEEDED : EDITS_FAILED).increment();
+        EDIT_LATENCY.record(System.currentTimeMillis() - startedAt, TimeUnit.MILLISECONDS);
+
+        if (completed) {
+            sendFinal();
+        } else {
+            scheduleFlush();
+        }
+    }
+}
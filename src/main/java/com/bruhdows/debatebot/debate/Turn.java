@@ -0,0 +1,29 @@
+package com.bruhdows.debatebot.debate;
+
+import com.bruhdows.debatebot.client.ChatMessage;
+
+public record Turn(Role role, String content) {
+
+    public enum Role {
+        USER("USER: "),
+        BOT("BOT: ");
+
+        private final String prefix;
+
+        Role(String prefix) {
+            this.prefix = prefix;
+        }
+    }
+
+    public int renderedLength() {
+        return role.prefix.length() + content.length();
+    }
+
+    public void renderTo(StringBuilder builder) {
+        builder.append(role.prefix).append(content);
+    }
+
+    public ChatMessage toChatMessage() {
+        return role == Role.USER ? ChatMessage.user(content) : ChatMessage.assistant(content);
+    }
+}
@@ -0,0 +1,101 @@
+package com.bruhdows.debatebot.debate.context;
+
+import com.bruhdows.debatebot.client.ChatMessage;
+import com.bruhdows.debatebot.debate.ConversationHistory;
+import com.bruhdows.debatebot.debate.Turn;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ContextBuilder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContextBuilder.class);
+    private static final int TURN_OVERHEAD_TOKENS = 2;
+    private static final DistributionSummary PROMPT_TOKENS = DistributionSummary.builder("debate.prompt.tokens")
+            .description("Estimated tokens in each prompt sent to the model")
+            .baseUnit("tokens")
+            .publishPercentileHistogram()
+            .register(Metrics.globalRegistry);
+
+    @Getter
+    private final TokenEstimator estimator;
+    @Getter
+    private final int tokenBudget;
+
+    public ContextBuilder(TokenEstimator estimator, int tokenBudget) {
+        this.estimator = estimator;
+        this.tokenBudget = tokenBudget;
+    }
+
+    public PromptContext build(ConversationHistory history, int reservedTokens) {
+        String fullText = history.getContext();
+        int fullTokens = estimator.estimate(fullText) + history.size() * TURN_OVERHEAD_TOKENS;
+        int budget = tokenBudget - reservedTokens;
+        if (tokenBudget <= 0 || fullTokens <= budget) {
+            return new PromptContext(history.getTurns(), fullText, fullTokens);
+        }
+
+        List<Turn> turns = history.getTurns();
+        int remaining = Math.max(0, budget);
+        int start = turns.size();
+
+        Turn newest = null;
+        if (!turns.isEmpty()) {
+            newest = turns.getLast();
+            int maxNewestTokens = remaining / 2 - TURN_OVERHEAD_TOKENS;
+            if (estimator.estimate(newest.content()) > maxNewestTokens) {
+                newest = new Turn(newest.role(), truncate(newest.content(), Math.max(1, maxNewestTokens)));
+            }
+            remaining -= estimator.estimate(newest.content()) + TURN_OVERHEAD_TOKENS;
+            start--;
+        }
+
+        while (start > 0) {
+            int cost = estimator.estimate(turns.get(start - 1).content()) + TURN_OVERHEAD_TOKENS;
+            if (cost > remaining) break;
+            remaining -= cost;
+            start--;
+        }
+
+        List<Turn> kept = new ArrayList<>(turns.subList(start, Math.max(start, turns.size() - 1)));
+        if (newest != null) {
+            kept.add(newest);
+        }
+
+        StringBuilder text = new StringBuilder();
+        for (Turn turn : kept) {
+            if (!text.isEmpty()) text.append('\n');
+            turn.renderTo(text);
+        }
+
+        int tokens = estimator.estimate(text) + kept.size() * TURN_OVERHEAD_TOKENS;
+        LOGGER.debug("Trimmed context from {} to {} turns ({} -> {} tokens)",
+                turns.size(), kept.size(), fullTokens, tokens);
+        return new PromptContext(kept, text.toString(), tokens);
+    }
+
+    public String truncate(String text, int maxTokens) {
+        if (maxTokens <= 0 || estimator.estimate(text) <= maxTokens) return text;
+
+        int maxChars = Math.min(text.length(), maxTokens * HeuristicTokenEstimator.CHARS_PER_TOKEN);
+        while (maxChars > 0 && estimator.estimate(text.subSequence(0, maxChars)) > maxTokens) {
+            maxChars -= HeuristicTokenEstimator.CHARS_PER_TOKEN;
+        }
+        return text.substring(0, Math.max(0, maxChars)) + "…";
+    }
+
+    public int recordPrompt(List<ChatMessage> messages) {
+        int tokens = 0;
+        for (ChatMessage message : messages) {
+            tokens += estimator.estimate(message.content()) + TURN_OVERHEAD_TOKENS;
+        }
+        PROMPT_TOKENS.record(tokens);
+        LOGGER.debug("Prompt tokens: {}", tokens);
+        return tokens;
+    }
+}
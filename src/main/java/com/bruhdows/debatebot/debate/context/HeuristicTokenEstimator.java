@@ -0,0 +1,11 @@
+package com.bruhdows.debatebot.debate.context;
+
+public class HeuristicTokenEstimator implements TokenEstimator {
+
+    public static final int CHARS_PER_TOKEN = 4;
+
+    @Override
+    public int estimate(CharSequence text) {
+        return (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+}
@@ -0,0 +1,8 @@
+package com.bruhdows.debatebot.debate.context;
+
+import com.bruhdows.debatebot.debate.Turn;
+
+import java.util.List;
+
+public record PromptContext(List<Turn> turns, String text, int tokens) {
+}
@@ -0,0 +1,5 @@
+package com.bruhdows.debatebot.debate.context;
+
+public interface TokenEstimator {
+    int estimate(CharSequence text);
+}
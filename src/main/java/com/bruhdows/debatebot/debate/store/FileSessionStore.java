@@ -0,0 +1,264 @@
+package com.bruhdows.debatebot.debate.store;
+
+import com.bruhdows.debatebot.debate.DebateSession;
+import com.bruhdows.debatebot.debate.Turn;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Stream;
+
+public class FileSessionStore implements SessionStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileSessionStore.class);
+    private static final String EXTENSION = ".log";
+
+    private final Path directory;
+    private final int retainedTurns;
+    private final int compactThreshold;
+    private final Map<Long, Long> knownThreads = new ConcurrentHashMap<>();
+    private final BlockingQueue<Task> queue = new LinkedBlockingQueue<>();
+    private final Map<Path, Integer> lineCounts = new HashMap<>();
+    private final Thread writer;
+
+    public FileSessionStore(Path directory, int retainedTurns, int compactThreshold) throws IOException {
+        this.directory = directory;
+        this.retainedTurns = retainedTurns;
+        this.compactThreshold = Math.max(compactThreshold, retainedTurns + 1);
+
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(EXTENSION))
+                    .forEach(name -> {
+                        String key = name.substring(0, name.length() - EXTENSION.length());
+                        int separator = key.indexOf('-');
+                        try {
+                            if (separator < 0) {
+                                knownThreads.put(Long.parseLong(key), 0L);
+                            } else {
+                                knownThreads.put(Long.parseLong(key.substring(separator + 1)),
+                                        Long.parseLong(key.substring(0, separator)));
+                            }
+                        } catch (NumberFormatException ignored) {
+                        }
+                    });
+        }
+
+        this.writer = Thread.ofPlatform().name("session-store-writer").daemon().start(this::runWriter);
+        LOGGER.info("Session store at {} has {} stored debates", directory, knownThreads.size());
+    }
+
+    @Override
+    public void saveSession(DebateSession session) {
+        JsonObject json = new JsonObject();
+        json.addProperty("type", "session");
+        json.addProperty("topic", session.getTopic());
+        json.addProperty("leaderUserId", session.getLeaderUserId());
+        json.addProperty("openingPrompt", session.getOpeningPrompt());
+        json.addProperty("replyPrompt", session.getReplyPrompt());
+
+        knownThreads.putIfAbsent(session.getThreadId(), session.getGuildId());
+        queue.add(new Append(pathOf(session.getThreadId()), json.toString(), true));
+    }
+
+    @Override
+    public void appendTurn(long threadId, Turn turn) {
+        // A reply can finish after its debate was deleted; there is nothing left to append to.
+        Long guildId = knownThreads.get(threadId);
+        if (guildId == null) return;
+
+        JsonObject json = new JsonObject();
+        json.addProperty("type", "turn");
+        json.addProperty("role", turn.role().name());
+        json.addProperty("content", turn.content());
+        queue.add(new Append(pathOf(threadId, guildId), json.toString(), false));
+    }
+
+    @Override
+    public void deleteSession(long threadId) {
+        Long guildId = knownThreads.remove(threadId);
+        if (guildId != null) {
+            queue.add(new Delete(pathOf(threadId, guildId)));
+        }
+    }
+
+    @Override
+    public boolean contains(long threadId) {
+        return knownThreads.containsKey(threadId);
+    }
+
+    @Override
+    public Map<Long, Long> getThreadGuilds() {
+        return Map.copyOf(knownThreads);
+    }
+
+    @Override
+    public CompletableFuture<Optional<StoredSession>> load(long threadId) {
+        CompletableFuture<Optional<StoredSession>> future = new CompletableFuture<>();
+        queue.add(new Load(threadId, knownThreads.getOrDefault(threadId, 0L), pathOf(threadId), future));
+        return future;
+    }
+
+    @Override
+    public void close() {
+        queue.add(new Shutdown());
+        try {
+            writer.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWriter() {
+        List<Task> batch = new ArrayList<>();
+        Map<Path, List<Append>> pending = new LinkedHashMap<>();
+        boolean running = true;
+
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch);
+
+            for (Task task : batch) {
+                switch (task) {
+                    case Append append -> pending.computeIfAbsent(append.path(), path -> new ArrayList<>())
+                            .add(append);
+                    case Delete delete -> {
+                        pending.remove(delete.path());
+                        delete(delete.path());
+                    }
+                    case Load load -> {
+                        flush(load.path(), pending.remove(load.path()));
+                        load.future().complete(read(load.threadId(), load.guildId(), load.path()));
+                    }
+                    case Shutdown shutdown -> running = false;
+                }
+            }
+            pending.forEach(this::flush);
+            pending.clear();
+            batch.clear();
+        }
+    }
+
+    private void flush(Path path, List<Append> appends) {
+        if (appends == null || appends.isEmpty()) return;
+        // Only a session header starts a log. Turns queued behind a Delete would otherwise leave a headerless
+        // file that recovery cannot read.
+        if (!appends.getFirst().header() && Files.notExists(path)) {
+            LOGGER.debug("Dropped {} writes for deleted debate {}", appends.size(), path.getFileName());
+            return;
+        }
+        try {
+            Files.write(path, appends.stream().map(Append::line).toList(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            int count = lineCounts.merge(path, appends.size(), Integer::sum);
+            if (count > compactThreshold) {
+                compact(path);
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed to persist debate {}", path.getFileName(), e);
+        }
+    }
+
+    private void compact(Path path) throws IOException {
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        if (lines.isEmpty()) return;
+
+        List<String> compacted = new ArrayList<>(retainedTurns + 1);
+        compacted.add(lines.getFirst());
+        compacted.addAll(lines.subList(Math.max(1, lines.size() - retainedTurns), lines.size()));
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temp, compacted, StandardCharsets.UTF_8);
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        lineCounts.put(path, compacted.size());
+    }
+
+    private void delete(Path path) {
+        lineCounts.remove(path);
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOGGER.error("Failed to delete stored debate {}", path.getFileName(), e);
+        }
+    }
+
+    private Optional<StoredSession> read(long threadId, long guildId, Path path) {
+        if (!Files.exists(path)) return Optional.empty();
+
+        try {
+            List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+            if (lines.isEmpty()) return Optional.empty();
+
+            JsonObject header = JsonParser.parseString(lines.getFirst()).getAsJsonObject();
+            List<Turn> turns = new ArrayList<>(lines.size() - 1);
+            for (String line : lines.subList(1, lines.size())) {
+                JsonObject json = JsonParser.parseString(line).getAsJsonObject();
+                turns.add(new Turn(Turn.Role.valueOf(json.get("role").getAsString()),
+                        json.get("content").getAsString()));
+            }
+            lineCounts.put(path, lines.size());
+
+            return Optional.of(new StoredSession(threadId, guildId,
+                    header.get("topic").getAsString(),
+                    header.get("leaderUserId").getAsString(),
+                    optionalString(header, "openingPrompt"),
+                    optionalString(header, "replyPrompt"),
+                    turns));
+        } catch (Exception e) {
+            LOGGER.error("Failed to restore debate {}", threadId, e);
+            return Optional.empty();
+        }
+    }
+
+    private static String optionalString(JsonObject json, String key) {
+        JsonElement element = json.get(key);
+        return element == null || element.isJsonNull() ? null : element.getAsString();
+    }
+
+    private Path pathOf(long threadId) {
+        return pathOf(threadId, knownThreads.getOrDefault(threadId, 0L));
+    }
+
+    private Path pathOf(long threadId, long guildId) {
+        return directory.resolve(guildId == 0 ? threadId + EXTENSION : guildId + "-" + threadId + EXTENSION);
+    }
+
+    private sealed interface Task permits Append, Delete, Load, Shutdown {
+    }
+
+    private record Append(Path path, String line, boolean header) implements Task {
+    }
+
+    private record Delete(Path path) implements Task {
+    }
+
+    private record Load(long threadId, long guildId, Path path,
+                        CompletableFuture<Optional<StoredSession>> future) implements Task {
+    }
+
+    private record Shutdown() implements Task {
+    }
+}
@@ -0,0 +1,42 @@
+package com.bruhdows.debatebot.debate.store;
+
+import com.bruhdows.debatebot.debate.DebateSession;
+import com.bruhdows.debatebot.debate.Turn;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public class NoopSessionStore implements SessionStore {
+
+    @Override
+    public void saveSession(DebateSession session) {
+    }
+
+    @Override
+    public void appendTurn(long threadId, Turn turn) {
+    }
+
+    @Override
+    public void deleteSession(long threadId) {
+    }
+
+    @Override
+    public boolean contains(long threadId) {
+        return false;
+    }
+
+    @Override
+    public Map<Long, Long> getThreadGuilds() {
+        return Map.of();
+    }
+
+    @Override
+    public CompletableFuture<Optional<StoredSession>> load(long threadId) {
+        return CompletableFuture.completedFuture(Optional.empty());
+    }
+
+    @Override
+    public void close() {
+    }
+}
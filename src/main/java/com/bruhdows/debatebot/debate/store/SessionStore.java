@@ -0,0 +1,24 @@
+package com.bruhdows.debatebot.debate.store;
+
+import com.bruhdows.debatebot.debate.DebateSession;
+import com.bruhdows.debatebot.debate.Turn;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public interface SessionStore {
+    void saveSession(DebateSession session);
+
+    void appendTurn(long threadId, Turn turn);
+
+    void deleteSession(long threadId);
+
+    boolean contains(long threadId);
+
+    Map<Long, Long> getThreadGuilds();
+
+    CompletableFuture<Optional<StoredSession>> load(long threadId);
+
+    void close();
+}
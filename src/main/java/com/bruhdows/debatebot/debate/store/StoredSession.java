@@ -0,0 +1,9 @@
+package com.bruhdows.debatebot.debate.store;
+
+import com.bruhdows.debatebot.debate.Turn;
+
+import java.util.List;
+
+public record StoredSession(long threadId, long guildId, String topic, String leaderUserId,
+                            String openingPrompt, String replyPrompt, List<Turn> turns) {
+}
@@ -0,0 +1,20 @@
+package com.bruhdows.debatebot.metrics;
+
+import io.micrometer.core.instrument.Metrics;
+import net.dv8tion.jda.api.events.http.HttpRequestEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import org.jetbrains.annotations.NotNull;
+
+public class DiscordMetricsListener extends ListenerAdapter {
+
+    @Override
+    public void onHttpRequest(@NotNull HttpRequestEvent event) {
+        String route = event.getRoute().getBaseRoute().getRoute();
+        String method = event.getRoute().getMethod().name();
+        String shard = Integer.toString(event.getJDA().getShardInfo().getShardId());
+        Metrics.counter("debate.discord.requests", "method", method, "route", route, "shard", shard).increment();
+        if (event.isRateLimit()) {
+            Metrics.counter("debate.discord.rate.limited", "method", method, "route", route, "shard", shard).increment();
+        }
+    }
+}
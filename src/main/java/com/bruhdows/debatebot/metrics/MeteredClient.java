@@ -0,0 +1,139 @@
+package com.bruhdows.debatebot.metrics;
+
+import com.bruhdows.debatebot.client.ChatMessage;
+import com.bruhdows.debatebot.client.LanguageModelClient;
+import com.bruhdows.debatebot.client.LanguageModelException;
+import com.bruhdows.debatebot.client.StreamHandle;
+import com.bruhdows.debatebot.client.TokenChunk;
+import com.bruhdows.debatebot.client.TokenUsage;
+import com.bruhdows.debatebot.client.stream.CallbackSubscriber;
+import com.bruhdows.debatebot.client.stream.TokenPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class MeteredClient implements LanguageModelClient {
+
+    private final LanguageModelClient delegate;
+    private final Tags tags;
+    private final Timer firstToken;
+    private final Timer generationSuccess;
+    private final Timer generationFailure;
+    private final Timer generationCancelled;
+    private final Counter tokens;
+    private final Counter promptTokens;
+    private final DistributionSummary tokensPerSecond;
+
+    public MeteredClient(LanguageModelClient delegate, String backend, String model) {
+        this.delegate = delegate;
+        this.tags = Tags.of("backend", backend, "model", model);
+        this.firstToken = Timer.builder("debate.llm.first.token")
+                .description("Time from request to the first streamed token")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofSeconds(60))
+                .register(Metrics.globalRegistry);
+        this.generationSuccess = generationTimer("success");
+        this.generationFailure = generationTimer("failure");
+        this.generationCancelled = generationTimer("cancelled");
+        this.tokens = Counter.builder("debate.llm.tokens")
+                .description("Completion tokens, as reported by the backend when available")
+                .tags(tags)
+                .register(Metrics.globalRegistry);
+        this.promptTokens = Counter.builder("debate.llm.prompt.tokens")
+                .description("Prompt tokens reported by the backend")
+                .tags(tags)
+                .register(Metrics.globalRegistry);
+        this.tokensPerSecond = DistributionSummary.builder("debate.llm.tokens.per.second")
+                .description("Decode rate after the first token")
+                .tags(tags)
+                .register(Metrics.globalRegistry);
+    }
+
+    private Timer generationTimer(String outcome) {
+        return Timer.builder("debate.llm.generation")
+                .description("Total generation time")
+                .tags(tags)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofMinutes(2))
+                .register(Metrics.globalRegistry);
+    }
+
+    @Override
+    public Flow.Publisher<TokenChunk> stream(long conversationId, List<ChatMessage> messages) {
+        return new TokenPublisher(sink -> {
+            long startedAt = System.nanoTime();
+            AtomicLong firstTokenAt = new AtomicLong();
+            AtomicInteger count = new AtomicInteger();
+            AtomicReference<TokenUsage> usage = new AtomicReference<>();
+            AtomicBoolean finished = new AtomicBoolean();
+            AtomicReference<LanguageModelException> failure = new AtomicReference<>();
+
+            StreamHandle handle = CallbackSubscriber.subscribe(delegate.stream(conversationId, messages),
+                    chunk -> {
+                        if (chunk.hasToken() && count.getAndIncrement() == 0) {
+                            long now = System.nanoTime();
+                            firstTokenAt.set(now);
+                            firstToken.record(now - startedAt, TimeUnit.NANOSECONDS);
+                        }
+                        if (chunk.usage() != null) usage.set(chunk.usage());
+                        sink.next(chunk);
+                    },
+                    error -> {
+                        failure.set(error);
+                        Metrics.counter("debate.llm.errors", tags.and("status", Integer.toString(error.getStatusCode())))
+                                .increment();
+                        sink.error(error);
+                    },
+                    () -> {
+                        if (!finished.compareAndSet(false, true)) return;
+                        long now = System.nanoTime();
+                        (failure.get() == null ? generationSuccess : generationFailure)
+                                .record(now - startedAt, TimeUnit.NANOSECONDS);
+                        recordTokens(count.get(), usage.get(), now - firstTokenAt.get());
+                        sink.complete();
+                    });
+            handle.whenCancelled(() -> {
+                if (finished.compareAndSet(false, true)) {
+                    generationCancelled.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+            return handle;
+        });
+    }
+
+    private void recordTokens(int streamed, TokenUsage usage, long decodeNanos) {
+        if (usage != null) {
+            promptTokens.increment(usage.promptTokens());
+            tokens.increment(usage.completionTokens());
+        } else {
+            tokens.increment(streamed);
+        }
+        if (streamed > 1 && decodeNanos > 0) {
+            tokensPerSecond.record((streamed - 1) * 1e9 / decodeNanos);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> checkHealth() {
+        return delegate.checkHealth();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> warmUp() {
+        return delegate.warmUp();
+    }
+}
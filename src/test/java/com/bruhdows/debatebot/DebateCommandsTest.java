@@ -0,0 +1,104 @@
+package com.bruhdows.debatebot;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.SelfUser;
+import net.dv8tion.jda.api.requests.restaction.CommandListUpdateAction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DebateCommandsTest {
+
+    @TempDir
+    Path dir;
+
+    private final AtomicInteger updates = new AtomicInteger();
+
+    @Test
+    void skipsUpdateWhenDefinitionIsUnchanged() {
+        Path hashFile = dir.resolve("commands.sha256");
+
+        assertTrue(DebateCommands.register(jda("1", true), hashFile).join());
+        assertTrue(Files.exists(hashFile));
+        assertFalse(DebateCommands.register(jda("1", true), hashFile).join());
+        assertEquals(1, updates.get());
+    }
+
+    @Test
+    void updatesForAnotherApplication() {
+        Path hashFile = dir.resolve("commands.sha256");
+
+        DebateCommands.register(jda("1", true), hashFile).join();
+
+        assertTrue(DebateCommands.register(jda("2", true), hashFile).join());
+        assertEquals(2, updates.get());
+    }
+
+    @Test
+    void updatesWhenStoredHashDiffers() throws Exception {
+        Path hashFile = dir.resolve("commands.sha256");
+        Files.writeString(hashFile, "stale");
+
+        assertTrue(DebateCommands.register(jda("1", true), hashFile).join());
+        assertEquals(1, updates.get());
+    }
+
+    @Test
+    void failedUpdateIsRetriedNextTime() {
+        Path hashFile = dir.resolve("commands.sha256");
+
+        assertThrows(CompletionException.class, () -> DebateCommands.register(jda("1", false), hashFile).join());
+        assertFalse(Files.exists(hashFile));
+
+        assertTrue(DebateCommands.register(jda("1", true), hashFile).join());
+        assertEquals(2, updates.get());
+    }
+
+    @Test
+    void createsMissingHashDirectory() {
+        Path hashFile = dir.resolve("data/state/commands.sha256");
+
+        DebateCommands.register(jda("1", true), hashFile).join();
+
+        assertTrue(Files.exists(hashFile));
+    }
+
+    private JDA jda(String applicationId, boolean succeeds) {
+        SelfUser self = proxy(SelfUser.class, Map.of("getApplicationId", args -> applicationId));
+        CommandListUpdateAction[] action = new CommandListUpdateAction[1];
+        action[0] = proxy(CommandListUpdateAction.class, Map.of(
+                "addCommands", args -> action[0],
+                "submit", args -> succeeds
+                        ? CompletableFuture.completedFuture(List.of())
+                        : CompletableFuture.failedFuture(new IllegalStateException("rate limited"))));
+        return proxy(JDA.class, Map.of(
+                "getSelfUser", args -> self,
+                "updateCommands", args -> {
+                    updates.incrementAndGet();
+                    return action[0];
+                }));
+    }
+
+    private static <T> T proxy(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        return type.cast(Proxy.newProxyInstance(DebateCommandsTest.class.getClassLoader(), new Class<?>[]{type},
+                (self, method, args) -> {
+                    Function<Object[], Object> simulated = methods.get(method.getName());
+                    if (simulated == null) throw new UnsupportedOperationException(method.getName());
+                    return simulated.apply(args);
+                }));
+    }
+}
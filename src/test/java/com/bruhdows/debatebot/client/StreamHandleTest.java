@@ -0,0 +1,38 @@
+package com.bruhdows.debatebot.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamHandleTest {
+
+    @Test
+    void runsEveryActionOnceOnCancel() {
+        StreamHandle handle = new StreamHandle();
+        AtomicInteger runs = new AtomicInteger();
+        handle.whenCancelled(runs::incrementAndGet);
+        handle.whenCancelled(runs::incrementAndGet);
+        assertFalse(handle.isCancelled());
+
+        handle.cancel();
+        handle.cancel();
+
+        assertTrue(handle.isCancelled());
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void actionAddedAfterCancelRunsImmediately() {
+        StreamHandle handle = new StreamHandle();
+        handle.cancel();
+        AtomicInteger runs = new AtomicInteger();
+
+        handle.whenCancelled(runs::incrementAndGet);
+
+        assertEquals(1, runs.get());
+    }
+}
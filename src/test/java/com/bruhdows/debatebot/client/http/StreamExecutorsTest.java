@@ -0,0 +1,134 @@
+package com.bruhdows.debatebot.client.http;
+
+import com.bruhdows.debatebot.config.Config;
+import com.bruhdows.debatebot.loadtest.MockLlmServer;
+import io.micrometer.core.instrument.Metrics;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamExecutorsTest {
+
+    @Test
+    void virtualModeRunsEachStreamOnItsOwnVirtualThread() throws Exception {
+        ExecutorService executor = StreamExecutors.create(new Config());
+        try {
+            Thread thread = CompletableFuture.supplyAsync(Thread::currentThread, executor).get(5, TimeUnit.SECONDS);
+
+            assertTrue(thread.isVirtual());
+            assertTrue(thread.getName().startsWith("llm-stream-"));
+            assertEquals(0, StreamExecutors.queuedTasks(executor));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void boundedModeQueuesThenRejects() throws Exception {
+        ExecutorService executor = StreamExecutors.create(bounded(1, 2));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            executor.execute(() -> {
+                started.countDown();
+                await(release);
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            executor.execute(() -> {
+            });
+            executor.execute(() -> {
+            });
+
+            assertEquals(2, StreamExecutors.queuedTasks(executor));
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {
+            }));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void transportCountsActiveAndQueuedStreams() throws Exception {
+        MockLlmServer server = new MockLlmServer(new MockLlmServer.Settings(0, 0, 1, 0, 0));
+        server.start();
+        HttpTransport transport = new HttpTransport(bounded(2, 8));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(5);
+        try {
+            assertNotNull(Metrics.globalRegistry.find("debate.http.streams.active").gauge());
+            assertNotNull(Metrics.globalRegistry.find("debate.http.streams.queued").gauge());
+
+            Request request = new Request.Builder().url(server.groqBaseUrl() + "models").build();
+            for (int i = 0; i < 5; i++) {
+                // Holding the callback open keeps the stream thread busy, as reading a token stream does.
+                transport.getHttpClient().newCall(request).enqueue(new Callback() {
+                    @Override
+                    public void onFailure(@NotNull Call call, @NotNull IOException e) {
+                        finished.countDown();
+                    }
+
+                    @Override
+                    public void onResponse(@NotNull Call call, @NotNull Response response) {
+                        try (response) {
+                            await(release);
+                        } finally {
+                            finished.countDown();
+                        }
+                    }
+                });
+            }
+
+            awaitValue(2, transport::getActiveStreams);
+            awaitValue(3, transport::getQueuedStreams);
+            release.countDown();
+            assertTrue(finished.await(5, TimeUnit.SECONDS));
+            awaitValue(0, transport::getActiveStreams);
+            awaitValue(0, transport::getQueuedStreams);
+        } finally {
+            release.countDown();
+            transport.getStreamExecutor().shutdownNow();
+            server.stop();
+        }
+    }
+
+    private static Config bounded(int poolSize, int queueCapacity) {
+        Config config = new Config();
+        config.setStreamExecutorMode(StreamExecutorMode.BOUNDED);
+        config.setStreamPoolSize(poolSize);
+        config.setStreamQueueCapacity(queueCapacity);
+        return config;
+    }
+
+    private static void awaitValue(int expected, IntSupplier value) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (value.getAsInt() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, value.getAsInt());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
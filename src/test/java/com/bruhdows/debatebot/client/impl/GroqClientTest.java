@@ -0,0 +1,32 @@
+package com.bruhdows.debatebot.client.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GroqClientTest {
+
+    @Test
+    void retryAfterInSeconds() {
+        assertEquals(2_000, GroqClient.retryDelayMillis("2", 0));
+        assertEquals(1_500, GroqClient.retryDelayMillis(" 1.5 ", 3));
+    }
+
+    @Test
+    void retryAfterAsGroqDuration() {
+        assertEquals(62_500, GroqClient.retryDelayMillis("1m2.5s", 0));
+        assertEquals(300, GroqClient.retryDelayMillis("300ms", 0));
+    }
+
+    @Test
+    void missingOrUnreadableRetryAfterBacksOffExponentially() {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            long base = 1_000L << attempt;
+            long delay = GroqClient.retryDelayMillis(attempt % 2 == 0 ? null : "later", attempt);
+            assertTrue(delay >= base && delay < base + 1_000, "attempt " + attempt + " waited " + delay);
+        }
+        long capped = GroqClient.retryDelayMillis(null, 10);
+        assertTrue(capped >= 30_000 && capped < 31_000, "capped delay " + capped);
+    }
+}
@@ -0,0 +1,32 @@
+package com.bruhdows.debatebot.client.impl;
+
+import com.bruhdows.debatebot.DebateBot;
+import com.bruhdows.debatebot.client.ChatMessage;
+import com.bruhdows.debatebot.config.Config;
+import com.google.gson.JsonObject;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OllamaClientTest {
+
+    @Test
+    void numPredictFollowsConfiguredMaxTokens() {
+        OllamaClient client = new OllamaClient(new OkHttpClient(), "mock", "http://127.0.0.1/", "5m");
+        Config config = new Config();
+        config.setMaxTokens(512);
+        DebateBot.applyConfig(config);
+
+        JsonObject body = client.getJsonObject(List.of(ChatMessage.user("Start debate.")));
+        assertEquals(512, body.getAsJsonObject("options").get("num_predict").getAsInt());
+
+        Config reloaded = new Config();
+        reloaded.setMaxTokens(128);
+        DebateBot.applyConfig(reloaded);
+        assertEquals(128, client.getJsonObject(List.of(ChatMessage.user("Start debate.")))
+                .getAsJsonObject("options").get("num_predict").getAsInt());
+    }
+}
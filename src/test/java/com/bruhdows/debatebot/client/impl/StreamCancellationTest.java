@@ -0,0 +1,82 @@
+package com.bruhdows.debatebot.client.impl;
+
+import com.bruhdows.debatebot.DebateBot;
+import com.bruhdows.debatebot.client.ApiType;
+import com.bruhdows.debatebot.client.ChatMessage;
+import com.bruhdows.debatebot.client.LanguageModelClient;
+import com.bruhdows.debatebot.client.StreamHandle;
+import com.bruhdows.debatebot.client.factory.ClientFactory;
+import com.bruhdows.debatebot.client.http.HttpTransport;
+import com.bruhdows.debatebot.config.Config;
+import com.bruhdows.debatebot.loadtest.MockLlmServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamCancellationTest {
+
+    private static final int TOKENS = 200;
+
+    private MockLlmServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Slow enough that the whole reply would take seconds if the call were left running.
+        server = new MockLlmServer(new MockLlmServer.Settings(0, 20, TOKENS, 0, 0));
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    void cancellingAGroqStreamAbortsTheCall() throws Exception {
+        assertCancelAbortsCall(ApiType.GROQ, server.groqBaseUrl());
+    }
+
+    @Test
+    void cancellingAnOllamaStreamAbortsTheCall() throws Exception {
+        assertCancelAbortsCall(ApiType.OLLAMA, server.ollamaBaseUrl());
+    }
+
+    private void assertCancelAbortsCall(ApiType apiType, String baseUrl) throws Exception {
+        Config config = new Config();
+        config.setApiType(apiType);
+        config.setApiKey("test");
+        config.setApiModel("mock");
+        config.setApiBaseUrl(baseUrl);
+        DebateBot.applyConfig(config);
+        LanguageModelClient client = ClientFactory.createClient(config, new HttpTransport(config));
+
+        CountDownLatch firstToken = new CountDownLatch(1);
+        AtomicInteger tokens = new AtomicInteger();
+        StreamHandle handle = client.streamChat(List.of(ChatMessage.user("Start debate.")), token -> {
+            tokens.incrementAndGet();
+            firstToken.countDown();
+        }, () -> {
+        });
+
+        assertTrue(firstToken.await(5, TimeUnit.SECONDS), "no token arrived");
+        handle.cancel();
+        int seenAtCancel = tokens.get();
+
+        // The server only notices once a write hits the closed connection.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (server.getAborted() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, server.getAborted());
+        assertTrue(server.getTokens() < TOKENS, "server streamed the whole reply");
+        assertEquals(seenAtCancel, tokens.get());
+    }
+}
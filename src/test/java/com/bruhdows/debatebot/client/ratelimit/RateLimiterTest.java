@@ -0,0 +1,92 @@
+package com.bruhdows.debatebot.client.ratelimit;
+
+import okhttp3.Headers;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    @Test
+    void servesConversationsRoundRobin() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(1_000, 1_000_000);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(6);
+
+        limiter.pause(100);
+        for (String name : List.of("a1", "a2", "a3", "b1", "b2", "c1")) {
+            limiter.submit(name.charAt(0), 10, () -> {
+                order.add(name);
+                done.countDown();
+            });
+        }
+        assertEquals(6, limiter.getQueued());
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("a1", "b1", "c1", "a2", "b2", "a3"), order);
+        assertEquals(0, limiter.getQueued());
+    }
+
+    @Test
+    void holdsRequestsUntilTheRequestBucketRefills() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(600, 1_000_000);
+        CountDownLatch done = new CountDownLatch(601);
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < 601; i++) {
+            limiter.submit(i, 1, done::countDown);
+        }
+        assertEquals(1, limiter.getQueued());
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - startedAt >= TimeUnit.MILLISECONDS.toNanos(90));
+    }
+
+    @Test
+    void exhaustedHeadersPauseUntilReset() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(1_000, 1_000_000);
+        limiter.update(Headers.of(
+                "x-ratelimit-remaining-requests", "0",
+                "x-ratelimit-reset-requests", "0.2s"));
+        CountDownLatch done = new CountDownLatch(1);
+
+        long startedAt = System.nanoTime();
+        limiter.submit(1L, 1, done::countDown);
+
+        assertEquals(1, limiter.getQueued());
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - startedAt >= TimeUnit.MILLISECONDS.toNanos(190));
+    }
+
+    @Test
+    void tokenLimitHeaderRaisesTheBudget() {
+        RateLimiter limiter = new RateLimiter(1_000, 6_000);
+        limiter.update(Headers.of("x-ratelimit-limit-tokens", "300000"));
+        List<Integer> ran = new ArrayList<>();
+
+        for (int i = 0; i < 10; i++) {
+            int conversation = i;
+            limiter.submit(conversation, 20_000, () -> ran.add(conversation));
+        }
+
+        assertEquals(10, ran.size());
+    }
+
+    @Test
+    void parsesGroqDurations() {
+        assertEquals(62_500, RateLimiter.parseDurationMillis("1m2.5s"));
+        assertEquals(7_660, RateLimiter.parseDurationMillis("7.66s"));
+        assertEquals(250, RateLimiter.parseDurationMillis("250ms"));
+        assertEquals(3_723_000, RateLimiter.parseDurationMillis("1h2m3s"));
+        assertEquals(1, RateLimiter.parseDurationMillis("0.4ms"));
+        assertEquals(-1, RateLimiter.parseDurationMillis("soon"));
+        assertEquals(-1, RateLimiter.parseDurationMillis(null));
+    }
+}
@@ -0,0 +1,83 @@
+package com.bruhdows.debatebot.client.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void startsFull() {
+        TokenBucket bucket = new TokenBucket(60, 0);
+
+        assertEquals(0, bucket.nanosUntil(60, 0));
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(60, 0);
+        bucket.consume(60, 0);
+
+        assertEquals(SECOND, bucket.nanosUntil(1, 0));
+        assertEquals(0, bucket.nanosUntil(1, SECOND));
+        assertEquals(0, bucket.nanosUntil(30, 30 * SECOND));
+        assertEquals(SECOND, bucket.nanosUntil(31, 30 * SECOND));
+    }
+
+    @Test
+    void neverHoldsMoreThanItsLimit() {
+        TokenBucket bucket = new TokenBucket(60, 0);
+        bucket.consume(10, 0);
+
+        long later = TimeUnit.MINUTES.toNanos(10);
+        assertEquals(0, bucket.nanosUntil(60, later));
+        bucket.consume(60, later);
+        assertEquals(SECOND, bucket.nanosUntil(1, later));
+    }
+
+    @Test
+    void requestsLargerThanCapacityWaitForAFullBucket() {
+        TokenBucket bucket = new TokenBucket(60, 0);
+        bucket.consume(30, 0);
+
+        assertEquals(30 * SECOND, bucket.nanosUntil(500, 0));
+        bucket.consume(500, 30 * SECOND);
+        assertEquals(SECOND, bucket.nanosUntil(1, 30 * SECOND));
+    }
+
+    @Test
+    void largerLimitAddsItsHeadroomAtOnce() {
+        TokenBucket bucket = new TokenBucket(6_000, 0);
+        bucket.consume(5_000, 0);
+        bucket.resize(300_000, 0);
+
+        assertEquals(0, bucket.nanosUntil(295_000, 0));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), bucket.nanosUntil(296_000, 0));
+    }
+
+    @Test
+    void smallerLimitCapsWhatIsAvailable() {
+        TokenBucket bucket = new TokenBucket(6_000, 0);
+        bucket.resize(600, 0);
+
+        assertEquals(0, bucket.nanosUntil(600, 0));
+        bucket.consume(600, 0);
+        assertEquals(SECOND / 10, bucket.nanosUntil(1, 0));
+    }
+
+    @Test
+    void syncLowersToWhatTheServerReports() {
+        TokenBucket bucket = new TokenBucket(60, 0);
+        bucket.sync(5, 0);
+
+        assertEquals(0, bucket.nanosUntil(5, 0));
+        assertEquals(SECOND, bucket.nanosUntil(6, 0));
+
+        bucket.sync(100, 0);
+        assertEquals(SECOND, bucket.nanosUntil(6, 0));
+    }
+}
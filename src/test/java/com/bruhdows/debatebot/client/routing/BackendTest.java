@@ -0,0 +1,43 @@
+package com.bruhdows.debatebot.client.routing;
+
+import com.bruhdows.debatebot.client.LanguageModelException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BackendTest {
+
+    private static final long COOLDOWN_MILLIS = 60_000;
+
+    @Test
+    void successfulProbeKeepsRateLimitCooldown() {
+        Backend backend = new Backend("groq-0", null);
+        backend.recordFailure(new LanguageModelException("rate limited", 429), COOLDOWN_MILLIS);
+
+        backend.recordProbe(true);
+
+        assertFalse(backend.isHealthy(System.currentTimeMillis()));
+        assertTrue(backend.isHealthy(System.currentTimeMillis() + COOLDOWN_MILLIS + 1));
+    }
+
+    @Test
+    void failedProbeHoldsBackendOutUntilAProbeSucceeds() {
+        Backend backend = new Backend("ollama-0", null);
+
+        backend.recordProbe(false);
+        assertFalse(backend.isHealthy(System.currentTimeMillis() + COOLDOWN_MILLIS));
+
+        backend.recordProbe(true);
+        assertTrue(backend.isHealthy(System.currentTimeMillis()));
+    }
+
+    @Test
+    void clientErrorsDoNotStartCooldown() {
+        Backend backend = new Backend("groq-0", null);
+
+        backend.recordFailure(new LanguageModelException("bad request", 400), COOLDOWN_MILLIS);
+
+        assertTrue(backend.isHealthy(System.currentTimeMillis()));
+    }
+}
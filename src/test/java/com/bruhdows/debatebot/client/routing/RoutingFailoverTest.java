@@ -0,0 +1,77 @@
+package com.bruhdows.debatebot.client.routing;
+
+import com.bruhdows.debatebot.DebateBot;
+import com.bruhdows.debatebot.client.ApiType;
+import com.bruhdows.debatebot.client.ChatMessage;
+import com.bruhdows.debatebot.client.LanguageModelClient;
+import com.bruhdows.debatebot.client.LanguageModelException;
+import com.bruhdows.debatebot.client.factory.ClientFactory;
+import com.bruhdows.debatebot.client.http.HttpTransport;
+import com.bruhdows.debatebot.client.stream.CallbackSubscriber;
+import com.bruhdows.debatebot.config.BackendConfig;
+import com.bruhdows.debatebot.config.Config;
+import com.bruhdows.debatebot.loadtest.MockLlmServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoutingFailoverTest {
+
+    private final MockLlmServer rateLimited = server(1.0);
+    private final MockLlmServer healthy = server(0.0);
+
+    @AfterEach
+    void tearDown() {
+        rateLimited.stop();
+        healthy.stop();
+    }
+
+    @Test
+    void rateLimitedGroqBackendFailsOverWithoutRetrying() throws Exception {
+        Config config = new Config();
+        config.setGroqMaxRetries(3);
+        config.setBackends(List.of(groq("limited", rateLimited), groq("healthy", healthy)));
+        DebateBot.applyConfig(config);
+        LanguageModelClient client = ClientFactory.createClient(config, new HttpTransport(config));
+
+        StringBuilder text = new StringBuilder();
+        AtomicReference<LanguageModelException> error = new AtomicReference<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        CallbackSubscriber.subscribe(client.stream(1L, List.of(ChatMessage.user("Start debate."))),
+                chunk -> text.append(chunk.token()), error::set, () -> done.complete(null));
+        done.get(10, TimeUnit.SECONDS);
+
+        assertNull(error.get());
+        assertTrue(text.toString().endsWith("Your move?"));
+        assertEquals(1, rateLimited.getRequests());
+        assertEquals(1, healthy.getRequests());
+    }
+
+    private static BackendConfig groq(String name, MockLlmServer server) {
+        BackendConfig backend = new BackendConfig();
+        backend.setName(name);
+        backend.setApiType(ApiType.GROQ);
+        backend.setApiKey("test");
+        backend.setApiModel("mock");
+        backend.setApiBaseUrl(server.groqBaseUrl());
+        return backend;
+    }
+
+    private static MockLlmServer server(double rateLimitRate) {
+        try {
+            MockLlmServer server = new MockLlmServer(new MockLlmServer.Settings(0, 0, 8, 0, rateLimitRate));
+            server.start();
+            return server;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.bruhdows.debatebot.client.stream;
+
+import com.bruhdows.debatebot.client.TokenChunk;
+import com.bruhdows.debatebot.client.TokenUsage;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.Okio;
+import okio.Source;
+import okio.Timeout;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GroqStreamDecoderTest {
+
+    private static final String STREAM = """
+            data: {"id":"1","choices":[{"index":0,"delta":{"role":"assistant","content":""},"finish_reason":null}]}
+
+            : keep-alive
+
+            data: {"id":"1","choices":[{"index":0,"delta":{"content":"Café"},"finish_reason":null}]}
+
+            data: {"id":"1","choices":[{"index":0,"delta":{"content":" is 🙂 \\"strong\\""},"finish_reason":null}]}
+
+            data: {"id":"1","choices":[{"index":0,"delta":{},"finish_reason":"stop"}],"x_groq":{"usage":{"prompt_tokens":42,"completion_tokens":3}}}
+
+            data: [DONE]
+
+            """;
+
+    private static final List<TokenChunk> EXPECTED = List.of(
+            TokenChunk.of("Café"),
+            TokenChunk.of(" is 🙂 \"strong\""),
+            TokenChunk.finish("stop", new TokenUsage(42, 3)));
+
+    @Test
+    void decodesWholeStream() throws IOException {
+        assertEquals(EXPECTED, decode(new Buffer().writeUtf8(STREAM)));
+    }
+
+    @Test
+    void decodesStreamArrivingOneByteAtATime() throws IOException {
+        assertEquals(EXPECTED, decode(Okio.buffer(fragmented(STREAM, 1))));
+    }
+
+    @Test
+    void decodesStreamFragmentedAcrossEventBoundaries() throws IOException {
+        for (int size = 2; size < 40; size += 7) {
+            assertEquals(EXPECTED, decode(Okio.buffer(fragmented(STREAM, size))), "fragment size " + size);
+        }
+    }
+
+    @Test
+    void stopsAtDoneEvenIfMoreDataFollows() throws IOException {
+        String stream = """
+                data: {"choices":[{"delta":{"content":"a"}}]}
+
+                data: [DONE]
+
+                data: {"choices":[{"delta":{"content":"b"}}]}
+
+                """;
+
+        assertEquals(List.of(TokenChunk.of("a")), decode(new Buffer().writeUtf8(stream)));
+    }
+
+    @Test
+    void finishesWhenStreamEndsWithoutDone() throws IOException {
+        String stream = "data: {\"choices\":[{\"delta\":{\"content\":\"a\"},\"finish_reason\":\"length\"}]}";
+
+        assertEquals(List.of(TokenChunk.of("a"), TokenChunk.finish("length", null)),
+                decode(Okio.buffer(fragmented(stream, 3))));
+    }
+
+    @Test
+    void readsTopLevelUsage() throws IOException {
+        String stream = """
+                data: {"choices":[{"delta":{"content":"a"},"finish_reason":"stop"}],"usage":{"prompt_tokens":5,"completion_tokens":1,"total_tokens":6}}
+
+                data: [DONE]
+                """;
+
+        assertEquals(List.of(TokenChunk.of("a"), TokenChunk.finish("stop", new TokenUsage(5, 1))),
+                decode(new Buffer().writeUtf8(stream)));
+    }
+
+    private static List<TokenChunk> decode(BufferedSource source) throws IOException {
+        List<TokenChunk> chunks = new ArrayList<>();
+        GroqStreamDecoder.decode(source, chunks::add);
+        return chunks;
+    }
+
+    // Hands out at most fragmentSize bytes per read, splitting lines, events and multi-byte characters.
+    private static Source fragmented(String text, int fragmentSize) {
+        Buffer data = new Buffer().writeUtf8(text);
+        return new Source() {
+            @Override
+            public long read(@NotNull Buffer sink, long byteCount) {
+                if (data.size() == 0) return -1;
+                return data.read(sink, Math.min(byteCount, fragmentSize));
+            }
+
+            @NotNull
+            @Override
+            public Timeout timeout() {
+                return Timeout.NONE;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -0,0 +1,124 @@
+package com.bruhdows.debatebot.client.stream;
+
+import com.bruhdows.debatebot.client.TokenChunk;
+import com.bruhdows.debatebot.client.TokenUsage;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.Okio;
+import okio.Source;
+import okio.Timeout;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OllamaStreamDecoderTest {
+
+    private static final String CHAT_STREAM = """
+            {"model":"llama3","message":{"role":"assistant","content":"Café"},"done":false}
+            {"model":"llama3","message":{"role":"assistant","content":""},"done":false}
+            {"model":"llama3","message":{"role":"assistant","content":" is 🙂 \\"strong\\""},"done":false}
+            {"model":"llama3","message":{"role":"assistant","content":""},"done":true,"done_reason":"stop","prompt_eval_count":42,"eval_count":3}
+            """;
+
+    private static final List<TokenChunk> EXPECTED = List.of(
+            TokenChunk.of("Café"),
+            TokenChunk.of(" is 🙂 \"strong\""),
+            TokenChunk.finish("stop", new TokenUsage(42, 3)));
+
+    @Test
+    void decodesChatStream() throws IOException {
+        assertEquals(EXPECTED, decode(new Buffer().writeUtf8(CHAT_STREAM)));
+    }
+
+    @Test
+    void decodesStreamFragmentedAcrossLines() throws IOException {
+        for (int size = 1; size < 40; size += 6) {
+            assertEquals(EXPECTED, decode(Okio.buffer(fragmented(CHAT_STREAM, size))), "fragment size " + size);
+        }
+    }
+
+    @Test
+    void decodesGenerateStream() throws IOException {
+        String stream = """
+                {"response":"Hello","done":false}
+                {"response":" there","done":false}
+                {"response":"","done":true,"done_reason":"length"}
+                """;
+
+        assertEquals(List.of(TokenChunk.of("Hello"), TokenChunk.of(" there"), TokenChunk.finish("length", null)),
+                decode(new Buffer().writeUtf8(stream)));
+    }
+
+    @Test
+    void defaultsFinishReasonToStop() throws IOException {
+        String stream = """
+                {"message":{"content":"a"},"done":false}
+                {"done":true,"eval_count":1}
+                """;
+
+        assertEquals(List.of(TokenChunk.of("a"), TokenChunk.finish("stop", new TokenUsage(0, 1))),
+                decode(new Buffer().writeUtf8(stream)));
+    }
+
+    @Test
+    void stopsAtDoneEvenIfMoreLinesFollow() throws IOException {
+        String stream = """
+                {"message":{"content":"a"},"done":true}
+                {"message":{"content":"b"},"done":false}
+                """;
+
+        assertEquals(List.of(TokenChunk.of("a"), TokenChunk.finish("stop", null)),
+                decode(new Buffer().writeUtf8(stream)));
+    }
+
+    @Test
+    void skipsUnknownFieldsAndNestedValues() throws IOException {
+        String stream = """
+                {"context":[1,2,3],"message":{"role":"assistant","images":null,"content":"a"},"extra":{"x":[{}]},"done":false}
+                {"done":true}
+                """;
+
+        assertEquals(List.of(TokenChunk.of("a"), TokenChunk.finish("stop", null)),
+                decode(new Buffer().writeUtf8(stream)));
+    }
+
+    @Test
+    void endsWithoutFinishWhenDoneNeverArrives() throws IOException {
+        String stream = "{\"message\":{\"content\":\"a\"},\"done\":false}\n";
+
+        assertEquals(List.of(TokenChunk.of("a")), decode(Okio.buffer(fragmented(stream, 5))));
+    }
+
+    private static List<TokenChunk> decode(BufferedSource source) throws IOException {
+        List<TokenChunk> chunks = new ArrayList<>();
+        OllamaStreamDecoder.decode(source, chunks::add);
+        return chunks;
+    }
+
+    // Hands out at most fragmentSize bytes per read, splitting lines and multi-byte characters.
+    private static Source fragmented(String text, int fragmentSize) {
+        Buffer data = new Buffer().writeUtf8(text);
+        return new Source() {
+            @Override
+            public long read(@NotNull Buffer sink, long byteCount) {
+                if (data.size() == 0) return -1;
+                return data.read(sink, Math.min(byteCount, fragmentSize));
+            }
+
+            @NotNull
+            @Override
+            public Timeout timeout() {
+                return Timeout.NONE;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
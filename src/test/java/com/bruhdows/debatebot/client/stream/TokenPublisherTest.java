@@ -0,0 +1,255 @@
+package com.bruhdows.debatebot.client.stream;
+
+import com.bruhdows.debatebot.client.LanguageModelException;
+import com.bruhdows.debatebot.client.StreamHandle;
+import com.bruhdows.debatebot.client.TokenChunk;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenPublisherTest {
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    @Test
+    void deliversOnlyWhatWasRequested() throws Exception {
+        Source source = new Source();
+        Recorder recorder = new Recorder(2);
+        new TokenPublisher(source).subscribe(recorder);
+
+        Thread producer = source.produce("a", "b", "c", "d", "e");
+        awaitBlocked(producer);
+        assertEquals(List.of("a", "b"), recorder.tokens());
+
+        recorder.subscription.request(3);
+        producer.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        source.sink.complete();
+
+        assertEquals(List.of("a", "b", "c", "d", "e"), recorder.tokens());
+        assertEquals(List.of("a", "b", "c", "d", "e", "complete"), recorder.signals);
+    }
+
+    @Test
+    void producerWaitsWhileDemandIsZero() throws Exception {
+        Source source = new Source();
+        Recorder recorder = new Recorder(0);
+        new TokenPublisher(source).subscribe(recorder);
+
+        Thread producer = source.produce("a");
+        awaitBlocked(producer);
+        assertTrue(recorder.signals.isEmpty());
+
+        recorder.subscription.request(1);
+        producer.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        assertFalse(producer.isAlive());
+        assertEquals(List.of("a"), recorder.tokens());
+    }
+
+    @Test
+    void cancelReleasesBlockedProducerAndUpstream() throws Exception {
+        Source source = new Source();
+        Recorder recorder = new Recorder(0);
+        new TokenPublisher(source).subscribe(recorder);
+
+        Thread producer = source.produce("a", "b");
+        awaitBlocked(producer);
+        recorder.subscription.cancel();
+        producer.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+
+        assertFalse(producer.isAlive());
+        assertTrue(source.upstream.isCancelled());
+        source.sink.complete();
+        assertTrue(recorder.signals.isEmpty());
+    }
+
+    @Test
+    void unboundedDemandSaturatesInsteadOfOverflowing() throws Exception {
+        Source source = new Source();
+        Recorder recorder = new Recorder(Long.MAX_VALUE);
+        new TokenPublisher(source).subscribe(recorder);
+        recorder.subscription.request(Long.MAX_VALUE);
+
+        Thread producer = source.produce("a", "b", "c");
+        producer.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+
+        assertFalse(producer.isAlive());
+        assertEquals(List.of("a", "b", "c"), recorder.tokens());
+    }
+
+    @Test
+    void secondSubscriberIsRejected() {
+        Source source = new Source();
+        TokenPublisher publisher = new TokenPublisher(source);
+        Recorder first = new Recorder(1);
+        Recorder second = new Recorder(1);
+        publisher.subscribe(first);
+        publisher.subscribe(second);
+
+        assertInstanceOf(IllegalStateException.class, second.error);
+        source.sink.next(TokenChunk.of("a"));
+        assertEquals(List.of("a"), first.tokens());
+        assertEquals(List.of("error"), second.signals);
+    }
+
+    @Test
+    void nonPositiveRequestSignalsIllegalArgument() {
+        for (long n : new long[]{0, -1}) {
+            Source source = new Source();
+            Recorder recorder = new Recorder(0);
+            new TokenPublisher(source).subscribe(recorder);
+
+            recorder.subscription.request(n);
+            source.sink.next(TokenChunk.of("late"));
+            source.sink.complete();
+
+            assertInstanceOf(IllegalArgumentException.class, recorder.error);
+            assertTrue(source.upstream.isCancelled());
+            assertEquals(List.of("error"), recorder.signals);
+        }
+    }
+
+    @Test
+    void errorFromRequestWaitsForOnNextToReturn() throws Exception {
+        Source source = new Source();
+        CountDownLatch inOnNext = new CountDownLatch(1);
+        AtomicBoolean signalling = new AtomicBoolean();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        Recorder recorder = new Recorder(Long.MAX_VALUE) {
+            @Override
+            public void onNext(TokenChunk item) {
+                signalling.set(true);
+                inOnNext.countDown();
+                sleep(100);
+                super.onNext(item);
+                signalling.set(false);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                if (signalling.get()) overlapped.set(true);
+                super.onError(throwable);
+            }
+        };
+        new TokenPublisher(source).subscribe(recorder);
+
+        Thread producer = source.produce("a", "b", "c");
+        assertTrue(inOnNext.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        recorder.subscription.request(-1);
+        producer.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+
+        assertFalse(overlapped.get());
+        assertEquals(List.of("a", "error"), recorder.signals);
+    }
+
+    @Test
+    void recordedErrorIsSignalledOnce() {
+        Source source = new Source();
+        Recorder recorder = new Recorder(1);
+        new TokenPublisher(source).subscribe(recorder);
+        LanguageModelException failure = new LanguageModelException("boom", null);
+
+        source.sink.error(failure);
+        source.sink.complete();
+        source.sink.complete();
+
+        assertSame(failure, recorder.error);
+        assertEquals(List.of("error"), recorder.signals);
+    }
+
+    @Test
+    void sourceThatFailsToStartSignalsError() {
+        Recorder recorder = new Recorder(1);
+        new TokenPublisher(sink -> {
+            throw new IllegalStateException("no connection");
+        }).subscribe(recorder);
+
+        assertInstanceOf(LanguageModelException.class, recorder.error);
+        assertInstanceOf(IllegalStateException.class, recorder.error.getCause());
+    }
+
+    private static void awaitBlocked(Thread producer) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (producer.getState() != Thread.State.WAITING) {
+            assertTrue(producer.isAlive() && System.nanoTime() < deadline, "producer never blocked");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Source implements Function<TokenSink, StreamHandle> {
+
+        private final StreamHandle upstream = new StreamHandle();
+        private volatile TokenSink sink;
+
+        @Override
+        public StreamHandle apply(TokenSink sink) {
+            this.sink = sink;
+            return upstream;
+        }
+
+        private Thread produce(String... tokens) {
+            return Thread.ofPlatform().daemon().start(() -> {
+                for (String token : tokens) {
+                    sink.next(TokenChunk.of(token));
+                }
+            });
+        }
+    }
+
+    private static class Recorder implements Flow.Subscriber<TokenChunk> {
+
+        private final long initialDemand;
+        private final List<String> signals = new CopyOnWriteArrayList<>();
+        private volatile Flow.Subscription subscription;
+        private volatile Throwable error;
+
+        private Recorder(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialDemand > 0) subscription.request(initialDemand);
+        }
+
+        @Override
+        public void onNext(TokenChunk item) {
+            signals.add(item.token());
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            signals.add("error");
+        }
+
+        @Override
+        public void onComplete() {
+            signals.add("complete");
+        }
+
+        private List<String> tokens() {
+            return signals.stream().filter(s -> !s.equals("error") && !s.equals("complete")).toList();
+        }
+    }
+}
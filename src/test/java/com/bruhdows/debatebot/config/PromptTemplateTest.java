@@ -0,0 +1,50 @@
+package com.bruhdows.debatebot.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PromptTemplateTest {
+
+    @Test
+    void substitutesNamedParameters() {
+        PromptTemplate template = PromptTemplate.compile("Topic: {topic}. Recent: {history}. Again: {topic}",
+                "topic", "history");
+
+        assertEquals("Topic: cats. Recent: none. Again: cats", template.render("cats", "none"));
+    }
+
+    @Test
+    void supportsStringFormatTemplates() {
+        PromptTemplate template = PromptTemplate.compile("Topic: %s%nRecent: %s (100%%)", "topic", "history");
+
+        assertEquals("Topic: cats" + System.lineSeparator() + "Recent: none (100%)", template.render("cats", "none"));
+    }
+
+    @Test
+    void leavesUnknownPlaceholdersLiteral() {
+        PromptTemplate template = PromptTemplate.compile("{topic} {unknown} {topic %d { %s %s", "topic");
+
+        assertEquals("cats {unknown} {topic %d { cats %s", template.render("cats"));
+    }
+
+    @Test
+    void doesNotExpandPlaceholdersInsideValues() {
+        PromptTemplate template = PromptTemplate.compile("{topic}: {history}", "topic", "history");
+
+        assertEquals("{history}: %s", template.render("{history}", "%s"));
+    }
+
+    @Test
+    void rejectsWrongNumberOfValues() {
+        PromptTemplate template = PromptTemplate.compile("{topic}", "topic");
+
+        assertThrows(IllegalArgumentException.class, () -> template.render("cats", "extra"));
+    }
+
+    @Test
+    void keepsSource() {
+        assertEquals("Topic: {topic}", PromptTemplate.compile("Topic: {topic}", "topic").source());
+    }
+}
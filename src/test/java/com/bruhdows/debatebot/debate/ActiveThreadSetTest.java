@@ -0,0 +1,162 @@
+package com.bruhdows.debatebot.debate;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ActiveThreadSetTest {
+
+    private static final long SNOWFLAKE_BASE = 1_200_000_000_000_000_000L;
+
+    @Test
+    void addsAndRemoves() {
+        ActiveThreadSet set = new ActiveThreadSet();
+
+        assertTrue(set.add(SNOWFLAKE_BASE));
+        assertFalse(set.add(SNOWFLAKE_BASE));
+        assertTrue(set.contains(SNOWFLAKE_BASE));
+        assertTrue(set.remove(SNOWFLAKE_BASE));
+        assertFalse(set.remove(SNOWFLAKE_BASE));
+        assertFalse(set.contains(SNOWFLAKE_BASE));
+        assertEquals(0, set.size());
+    }
+
+    @Test
+    void rejectsMarkerValues() {
+        ActiveThreadSet set = new ActiveThreadSet();
+
+        assertFalse(set.add(0));
+        assertFalse(set.add(-1));
+        assertFalse(set.contains(0));
+        assertFalse(set.contains(-1));
+        assertEquals(0, set.size());
+    }
+
+    @Test
+    void keepsProbeRunIntactWhenCollidingIdsAreRemoved() {
+        long[] ids = colliding(40);
+        ActiveThreadSet set = new ActiveThreadSet();
+        for (long id : ids) {
+            assertTrue(set.add(id));
+        }
+
+        // Removing from the front and middle of the run must not hide the ids probed past them.
+        for (int i = 0; i < ids.length; i += 3) {
+            assertTrue(set.remove(ids[i]));
+        }
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(i % 3 != 0, set.contains(ids[i]), "id " + i);
+        }
+
+        // A removed slot is reused without letting an id that is still present further along be added twice.
+        assertTrue(set.add(ids[0]));
+        assertFalse(set.add(ids[1]));
+        assertFalse(set.add(ids[ids.length - 2]));
+        assertEquals(ids.length - (ids.length + 2) / 3 + 1, set.size());
+    }
+
+    @Test
+    void matchesAHashSetUnderChurn() {
+        ActiveThreadSet set = new ActiveThreadSet();
+        Set<Long> model = new HashSet<>();
+        SplittableRandom random = new SplittableRandom(7);
+        long[] pool = new long[2_000];
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = SNOWFLAKE_BASE + random.nextLong(1L << 40);
+        }
+
+        for (int step = 0; step < 100_000; step++) {
+            long id = pool[random.nextInt(pool.length)];
+            if (random.nextBoolean()) {
+                assertEquals(model.add(id), set.add(id));
+            } else {
+                assertEquals(model.remove(id), set.remove(id));
+            }
+        }
+
+        assertEquals(model.size(), set.size());
+        for (long id : pool) {
+            assertEquals(model.contains(id), set.contains(id));
+        }
+        assertTrue(set.capacity() <= Math.max(16, model.size() * 8), "capacity " + set.capacity());
+    }
+
+    @Test
+    void shrinksAfterMostThreadsEnd() {
+        ActiveThreadSet set = new ActiveThreadSet();
+        for (long i = 1; i <= 5_000; i++) {
+            set.add(SNOWFLAKE_BASE + i);
+        }
+        for (long i = 1; i <= 5_000; i++) {
+            set.remove(SNOWFLAKE_BASE + i);
+        }
+
+        assertEquals(0, set.size());
+        assertEquals(16, set.capacity());
+    }
+
+    @Test
+    void addAllSkipsDuplicatesAndMarkers() {
+        ActiveThreadSet set = new ActiveThreadSet();
+        set.add(SNOWFLAKE_BASE + 1);
+
+        set.addAll(new long[]{SNOWFLAKE_BASE + 1, SNOWFLAKE_BASE + 2, SNOWFLAKE_BASE + 2, 0, -1, SNOWFLAKE_BASE + 3});
+
+        assertEquals(3, set.size());
+        assertTrue(set.contains(SNOWFLAKE_BASE + 2));
+        assertTrue(set.contains(SNOWFLAKE_BASE + 3));
+    }
+
+    @Test
+    void readersAlwaysSeeStableIdsWhileWritersChurn() throws InterruptedException {
+        long[] ids = colliding(64);
+        ActiveThreadSet set = new ActiveThreadSet();
+        // Every other colliding id stays put while its neighbours in the probe run come and go.
+        for (int i = 0; i < ids.length; i += 2) {
+            set.add(ids[i]);
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong misses = new AtomicLong();
+        Thread reader = Thread.ofPlatform().start(() -> {
+            while (running.get()) {
+                for (int i = 0; i < ids.length; i += 2) {
+                    if (!set.contains(ids[i])) misses.incrementAndGet();
+                }
+            }
+        });
+
+        SplittableRandom random = new SplittableRandom(3);
+        for (int step = 0; step < 200_000; step++) {
+            long id = ids[random.nextInt(ids.length / 2) * 2 + 1];
+            if (random.nextBoolean()) {
+                set.add(id);
+            } else {
+                set.remove(id);
+            }
+        }
+        running.set(false);
+        reader.join();
+
+        assertEquals(0, misses.get());
+    }
+
+    // Ids that land on the same slot even in a 1024-slot table, so they share one probe run at every size used here.
+    private static long[] colliding(int count) {
+        long[] ids = new long[count];
+        int target = ActiveThreadSet.indexFor(SNOWFLAKE_BASE, 1023);
+        int found = 0;
+        for (long id = SNOWFLAKE_BASE; found < count; id++) {
+            if (ActiveThreadSet.indexFor(id, 1023) == target) ids[found++] = id;
+        }
+        return ids;
+    }
+}
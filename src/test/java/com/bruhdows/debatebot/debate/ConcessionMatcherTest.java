@@ -0,0 +1,80 @@
+package com.bruhdows.debatebot.debate;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcessionMatcherTest {
+
+    private final ConcessionMatcher human = ConcessionMatcher.of(List.of("concede", "you win", "gg", "good game"));
+
+    @Test
+    void matchesWholePhrasesIgnoringCase() {
+        assertTrue(human.matches("Fine. I CONCEDE."));
+        assertTrue(human.matches("ok you win"));
+        assertTrue(human.matches("gg"));
+        assertTrue(human.matches("gg!"));
+        assertTrue(human.matches("Good game, well played"));
+    }
+
+    @Test
+    void ignoresPhrasesInsideOtherWords() {
+        assertFalse(human.matches("I suggest you reconsider"));
+        assertFalse(human.matches("eggs are cheaper than ever"));
+        assertFalse(human.matches("you winner of bad takes"));
+        assertFalse(human.matches("she concedes nothing"));
+        assertFalse(human.matches("reconcede"));
+    }
+
+    @Test
+    void collapsesWhitespaceBetweenWords() {
+        assertTrue(human.matches("alright,\n  you\twin"));
+    }
+
+    @Test
+    void matchesPhraseSplitAcrossTokens() {
+        ConcessionMatcher.Scanner scanner = human.scanner();
+
+        assertFalse(scanner.feed("Fine, yo"));
+        assertFalse(scanner.feed("u w"));
+        assertFalse(scanner.feed("in"));
+        assertTrue(scanner.feed("."));
+    }
+
+    @Test
+    void waitsForTheWordToEndBeforeMatching() {
+        ConcessionMatcher.Scanner continued = human.scanner();
+        assertFalse(continued.feed("you win"));
+        assertFalse(continued.feed("ner"));
+        assertFalse(continued.finish());
+
+        ConcessionMatcher.Scanner ended = human.scanner();
+        assertFalse(ended.feed("you win"));
+        assertTrue(ended.finish());
+    }
+
+    @Test
+    void matchesOverlappingPhrases() {
+        ConcessionMatcher bot = ConcessionMatcher.of(List.of("i concede", "concede defeat", "i lose"));
+
+        assertTrue(bot.matches("Very well, i concede defeat"));
+        assertTrue(bot.matches("ok i lose"));
+        assertFalse(bot.matches("ok i loser"));
+    }
+
+    @Test
+    void normalizesCurlyApostrophes() {
+        assertTrue(ConcessionMatcher.of(List.of("you're right")).matches("Fine, you’re right"));
+    }
+
+    @Test
+    void emptyPhraseListNeverMatches() {
+        ConcessionMatcher none = ConcessionMatcher.of(List.of("", "   "));
+
+        assertFalse(none.matches("i concede, you win, gg"));
+        assertFalse(none.matches(""));
+    }
+}
@@ -0,0 +1,80 @@
+package com.bruhdows.debatebot.debate;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ConversationHistoryTest {
+
+    @Test
+    void evictsOldestTurnAtCapacity() {
+        ConversationHistory history = new ConversationHistory(3, 0);
+        history.add(Turn.Role.USER, "one");
+        history.add(Turn.Role.BOT, "two");
+        history.add(Turn.Role.USER, "three");
+        history.add(Turn.Role.BOT, "four");
+
+        assertEquals(List.of(new Turn(Turn.Role.BOT, "two"), new Turn(Turn.Role.USER, "three"),
+                new Turn(Turn.Role.BOT, "four")), history.getTurns());
+        assertEquals("BOT: two\nUSER: three\nBOT: four", history.getContext());
+        assertEquals(new Turn(Turn.Role.BOT, "four"), history.getLast());
+    }
+
+    @Test
+    void evictsOldestTurnsOverCharBudget() {
+        ConversationHistory history = new ConversationHistory(16, 10);
+        history.add(Turn.Role.USER, "aaaaaa");
+        history.add(Turn.Role.BOT, "bbbb");
+        history.add(Turn.Role.USER, "cc");
+
+        assertEquals(List.of(new Turn(Turn.Role.BOT, "bbbb"), new Turn(Turn.Role.USER, "cc")), history.getTurns());
+        assertEquals("BOT: bbbb\nUSER: cc", history.getContext());
+    }
+
+    @Test
+    void keepsNewestTurnEvenWhenItAloneExceedsBudget() {
+        ConversationHistory history = new ConversationHistory(16, 10);
+        history.add(Turn.Role.USER, "short");
+        history.add(Turn.Role.BOT, "far longer than the whole budget");
+
+        assertEquals(1, history.size());
+        assertEquals("BOT: far longer than the whole budget", history.getContext());
+    }
+
+    @Test
+    void contextMatchesTurnsAfterManyEvictions() {
+        ConversationHistory history = new ConversationHistory(5, 40);
+        for (int i = 0; i < 200; i++) {
+            history.add(i % 2 == 0 ? Turn.Role.USER : Turn.Role.BOT, "message " + "x".repeat(i % 13));
+
+            StringBuilder expected = new StringBuilder();
+            for (Turn turn : history.getTurns()) {
+                if (!expected.isEmpty()) expected.append('\n');
+                turn.renderTo(expected);
+            }
+            assertEquals(expected.toString(), history.getContext());
+        }
+    }
+
+    @Test
+    void limitsContextToRecentTurns() {
+        ConversationHistory history = new ConversationHistory(4, 0);
+        history.add(Turn.Role.USER, "one");
+        history.add(Turn.Role.BOT, "two");
+        history.add(Turn.Role.USER, "three");
+
+        assertEquals("BOT: two\nUSER: three", history.getContext(2));
+        assertEquals(history.getContext(), history.getContext(10));
+    }
+
+    @Test
+    void emptyHistoryHasNoContext() {
+        ConversationHistory history = new ConversationHistory(4, 0);
+
+        assertEquals("", history.getContext());
+        assertNull(history.getLast());
+    }
+}
@@ -0,0 +1,90 @@
+package com.bruhdows.debatebot.debate;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DebateSessionTest {
+
+    private static final long DEBOUNCE = 500;
+
+    private final DebateSession session = new DebateSession();
+
+    @Test
+    void mailboxDrainsInArrivalOrder() {
+        session.offerMessage("one", 4);
+        session.offerMessage("two", 4);
+
+        assertTrue(session.hasPendingMessages());
+        assertEquals(List.of("one", "two"), session.drainMessages());
+        assertFalse(session.hasPendingMessages());
+        assertEquals(List.of(), session.drainMessages());
+    }
+
+    @Test
+    void mailboxRejectsMessagesOverCapacity() {
+        assertTrue(session.offerMessage("one", 2));
+        assertTrue(session.offerMessage("two", 2));
+        assertFalse(session.offerMessage("three", 2));
+
+        assertEquals(List.of("one", "two"), session.drainMessages());
+        assertTrue(session.offerMessage("four", 2));
+    }
+
+    @Test
+    void schedulesOneDispatchUntilItStarts() {
+        assertTrue(session.tryScheduleDispatch());
+        assertFalse(session.tryScheduleDispatch());
+
+        session.dispatchStarted();
+
+        assertTrue(session.tryScheduleDispatch());
+    }
+
+    @Test
+    void dispatchesStraightAwayOnlyWhenIdle() {
+        assertTrue(session.tryLock());
+        assertFalse(session.tryScheduleIdleDispatch());
+        // A busy session leaves the dispatch to releaseSession, which batches through the debounce.
+        assertTrue(session.tryScheduleDispatch());
+
+        session.unlock();
+        session.dispatchStarted();
+
+        assertTrue(session.tryScheduleIdleDispatch());
+        assertFalse(session.tryScheduleIdleDispatch());
+        assertFalse(session.tryScheduleDispatch());
+    }
+
+    @Test
+    void debounceRunsFromTheLastMessage() throws InterruptedException {
+        assertEquals(0, session.debounceRemaining(System.currentTimeMillis(), DEBOUNCE));
+
+        session.offerMessage("one", 4);
+        long now = System.currentTimeMillis();
+        long remaining = session.debounceRemaining(now, DEBOUNCE);
+        assertTrue(remaining > 0 && remaining <= DEBOUNCE);
+        assertEquals(0, session.debounceRemaining(now + DEBOUNCE, DEBOUNCE));
+
+        Thread.sleep(20);
+        session.offerMessage("two", 4);
+
+        assertTrue(session.debounceRemaining(now, DEBOUNCE) > remaining);
+    }
+
+    @Test
+    void rejectedMessageDoesNotRestartDebounce() throws InterruptedException {
+        session.offerMessage("one", 1);
+        long now = System.currentTimeMillis();
+        long remaining = session.debounceRemaining(now, DEBOUNCE);
+
+        Thread.sleep(20);
+        assertFalse(session.offerMessage("two", 1));
+
+        assertEquals(remaining, session.debounceRemaining(now, DEBOUNCE));
+    }
+}
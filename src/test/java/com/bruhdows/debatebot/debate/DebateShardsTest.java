@@ -0,0 +1,112 @@
+package com.bruhdows.debatebot.debate;
+
+import com.bruhdows.debatebot.DebateBot;
+import com.bruhdows.debatebot.client.ApiType;
+import com.bruhdows.debatebot.client.ChatMessage;
+import com.bruhdows.debatebot.client.LanguageModelClient;
+import com.bruhdows.debatebot.client.TokenChunk;
+import com.bruhdows.debatebot.config.Config;
+import com.bruhdows.debatebot.debate.store.NoopSessionStore;
+import net.dv8tion.jda.api.JDA;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DebateShardsTest {
+
+    // Snowflakes whose timestamp bits put them on shard 0 and shard 1 of 2.
+    private static final long GUILD_ON_SHARD_0 = 10L << 22;
+    private static final long GUILD_ON_SHARD_1 = 11L << 22;
+    private static final long THREAD_ON_SHARD_0 = 1_001L;
+    private static final long THREAD_ON_SHARD_1 = 1_002L;
+    // Stored before sessions carried a guild.
+    private static final long LEGACY_THREAD = 1_003L;
+
+    private DebateShards shards;
+
+    @BeforeEach
+    void setUp() {
+        Config config = new Config();
+        config.setApiType(ApiType.GROQ);
+        config.setApiModel("mock");
+        config.setSessionStoreEnabled(false);
+        config.setConfigWatchEnabled(false);
+        config.setMetricsEnabled(false);
+        DebateBot.applyConfig(config);
+
+        shards = new DebateShards(new SilentClient(), config, new NoopSessionStore() {
+            @Override
+            public Map<Long, Long> getThreadGuilds() {
+                return Map.of(THREAD_ON_SHARD_0, GUILD_ON_SHARD_0, THREAD_ON_SHARD_1, GUILD_ON_SHARD_1,
+                        LEGACY_THREAD, 0L);
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        shards.shutdown();
+    }
+
+    @Test
+    void shardOfFollowsDiscordFormula() {
+        // (guild_id >> 22) % num_shards, as documented by Discord.
+        assertEquals(2, DebateManager.shardOf(197038439483310086L, 16));
+        assertEquals(770, DebateManager.shardOf(197038439483310086L, 1000));
+        assertEquals(0, DebateManager.shardOf(197038439483310086L, 1));
+        assertEquals(0, DebateManager.shardOf(GUILD_ON_SHARD_0, 2));
+        assertEquals(1, DebateManager.shardOf(GUILD_ON_SHARD_1, 2));
+    }
+
+    @Test
+    void keepsOneManagerPerShard() {
+        DebateManager first = shards.get(jda(0, 2));
+
+        assertSame(first, shards.get(jda(0, 2)));
+        assertNotSame(first, shards.get(jda(1, 2)));
+    }
+
+    @Test
+    void shardRestoresOnlyItsOwnGuildsThreads() {
+        shards.get(jda(0, 2));
+
+        assertTrue(shards.isDebateThread(THREAD_ON_SHARD_0));
+        assertFalse(shards.isDebateThread(THREAD_ON_SHARD_1));
+        // Without a guild the owning shard is unknown, so the thread stays visible to every shard.
+        assertTrue(shards.isDebateThread(LEGACY_THREAD));
+
+        shards.get(jda(1, 2));
+
+        assertTrue(shards.isDebateThread(THREAD_ON_SHARD_1));
+    }
+
+    private static JDA jda(int shardId, int shardTotal) {
+        JDA.ShardInfo shard = new JDA.ShardInfo(shardId, shardTotal);
+        return (JDA) Proxy.newProxyInstance(DebateShardsTest.class.getClassLoader(), new Class<?>[]{JDA.class},
+                (self, method, args) -> switch (method.getName()) {
+                    case "getShardInfo" -> shard;
+                    case "hashCode" -> System.identityHashCode(self);
+                    case "equals" -> self == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static final class SilentClient implements LanguageModelClient {
+
+        @Override
+        public Flow.Publisher<TokenChunk> stream(long conversationId, List<ChatMessage> messages) {
+            throw new UnsupportedOperationException("no generation expected");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.bruhdows.debatebot.debate;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EditRateLimitsTest {
+
+    private static final long CHANNEL = 42L;
+
+    @Test
+    void unknownChannelCanEditNow() {
+        assertEquals(1_000, new EditRateLimits().nextEditAt(CHANNEL, 1_000));
+    }
+
+    @Test
+    void spreadsRemainingEditsOverTheWindow() {
+        EditRateLimits limits = new EditRateLimits();
+        limits.update(CHANNEL, 4, 5_000, 0);
+
+        assertEquals(1_000, limits.nextEditAt(CHANNEL, 0));
+        assertEquals(42, limits.nextEditAt(CHANNEL + 1, 42));
+    }
+
+    @Test
+    void exhaustedBucketWaitsForReset() {
+        EditRateLimits limits = new EditRateLimits();
+        limits.update(CHANNEL, 0, 3_000, 1_000);
+
+        assertEquals(4_000, limits.nextEditAt(CHANNEL, 2_000));
+    }
+
+    @Test
+    void expiredWindowIsForgotten() {
+        EditRateLimits limits = new EditRateLimits();
+        limits.update(CHANNEL, 0, 3_000, 0);
+
+        assertEquals(5_000, limits.nextEditAt(CHANNEL, 5_000));
+        assertEquals(5_001, limits.nextEditAt(CHANNEL, 5_001));
+    }
+}
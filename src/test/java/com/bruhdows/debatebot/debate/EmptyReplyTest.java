@@ -0,0 +1,78 @@
+package com.bruhdows.debatebot.debate;
+
+import com.bruhdows.debatebot.DebateBot;
+import com.bruhdows.debatebot.client.ApiType;
+import com.bruhdows.debatebot.client.LanguageModelClient;
+import com.bruhdows.debatebot.client.factory.ClientFactory;
+import com.bruhdows.debatebot.client.http.HttpTransport;
+import com.bruhdows.debatebot.config.Config;
+import com.bruhdows.debatebot.debate.store.NoopSessionStore;
+import com.bruhdows.debatebot.loadtest.FakeDiscord;
+import com.bruhdows.debatebot.loadtest.LoadTestStats;
+import com.bruhdows.debatebot.loadtest.MockLlmServer;
+import com.bruhdows.debatebot.loadtest.SimulatedDebate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmptyReplyTest {
+
+    private MockLlmServer server;
+    private FakeDiscord discord;
+    private DebateShards shards;
+    private ScheduledExecutorService users;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // The model finishes every stream without a single token.
+        server = new MockLlmServer(new MockLlmServer.Settings(5, 0, 0, 0, 0));
+        server.start();
+        discord = new FakeDiscord(5);
+        users = Executors.newSingleThreadScheduledExecutor();
+
+        Config config = new Config();
+        config.setApiType(ApiType.GROQ);
+        config.setApiKey("test");
+        config.setApiModel("mock");
+        config.setApiBaseUrl(server.groqBaseUrl());
+        config.setEditIntervalMillis(50);
+        config.setSessionStoreEnabled(false);
+        config.setConfigWatchEnabled(false);
+        config.setMetricsEnabled(false);
+        DebateBot.applyConfig(config);
+
+        LanguageModelClient client = ClientFactory.createClient(config, new HttpTransport(config));
+        shards = new DebateShards(client, config, new NoopSessionStore());
+    }
+
+    @AfterEach
+    void tearDown() {
+        users.shutdownNow();
+        shards.shutdown();
+        discord.shutdown();
+        server.stop();
+    }
+
+    @Test
+    void emptyRepliesReplaceThePlaceholderWithANotice() throws Exception {
+        LoadTestStats stats = new LoadTestStats();
+        CountDownLatch finished = new CountDownLatch(1);
+        SimulatedDebate debate = new SimulatedDebate(0, 1, 0, discord, shards, new DebateListener(shards), users,
+                stats, finished::countDown);
+
+        users.execute(debate::start);
+
+        // Both the opening and the reply must end in a visible notice, or the debate never moves on.
+        assertTrue(finished.await(10, TimeUnit.SECONDS), "a placeholder was left in place");
+        assertEquals(2, stats.getTurns());
+        assertEquals(2, stats.getFailedTurns());
+    }
+}
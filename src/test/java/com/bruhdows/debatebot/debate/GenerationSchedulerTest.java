@@ -0,0 +1,157 @@
+package com.bruhdows.debatebot.debate;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GenerationSchedulerTest {
+
+    private static final long NO_AGING = 0;
+
+    private final List<String> started = new ArrayList<>();
+
+    @Test
+    void openingsRunBeforeReplies() {
+        GenerationScheduler scheduler = new GenerationScheduler(1, NO_AGING);
+        Runnable blocker = hold(scheduler, 1L);
+        submit(scheduler, "reply", GenerationScheduler.Kind.REPLY, 2L, 0);
+        submit(scheduler, "opening", GenerationScheduler.Kind.OPENING, 3L, 0);
+
+        blocker.run();
+
+        assertEquals(List.of("reply-blocker", "opening", "reply"), started);
+    }
+
+    @Test
+    void rotatesBetweenGuilds() {
+        GenerationScheduler scheduler = new GenerationScheduler(1, NO_AGING);
+        Runnable blocker = hold(scheduler, 9L);
+        submit(scheduler, "a1", GenerationScheduler.Kind.REPLY, 1L, 0);
+        submit(scheduler, "a2", GenerationScheduler.Kind.REPLY, 1L, 0);
+        submit(scheduler, "a3", GenerationScheduler.Kind.REPLY, 1L, 0);
+        submit(scheduler, "b1", GenerationScheduler.Kind.REPLY, 2L, 0);
+        submit(scheduler, "c1", GenerationScheduler.Kind.REPLY, 3L, 0);
+
+        blocker.run();
+
+        assertEquals(List.of("reply-blocker", "a1", "b1", "c1", "a2", "a3"), started);
+    }
+
+    @Test
+    void prefersRecentActivityThenArrivalOrder() {
+        GenerationScheduler scheduler = new GenerationScheduler(1, NO_AGING);
+        Runnable blocker = hold(scheduler, 1L);
+        submit(scheduler, "stale", GenerationScheduler.Kind.REPLY, 1L, 100);
+        submit(scheduler, "first", GenerationScheduler.Kind.REPLY, 1L, 200);
+        submit(scheduler, "second", GenerationScheduler.Kind.REPLY, 1L, 200);
+
+        blocker.run();
+
+        assertEquals(List.of("reply-blocker", "first", "second", "stale"), started);
+    }
+
+    @Test
+    void agedRepliesOvertakeNewerOpenings() throws InterruptedException {
+        GenerationScheduler scheduler = new GenerationScheduler(1, 50);
+        Runnable blocker = hold(scheduler, 1L);
+        submit(scheduler, "old-reply", GenerationScheduler.Kind.REPLY, 2L, 0);
+        Thread.sleep(80);
+        submit(scheduler, "new-opening", GenerationScheduler.Kind.OPENING, 3L, 0);
+
+        blocker.run();
+
+        assertEquals(List.of("reply-blocker", "old-reply", "new-opening"), started);
+    }
+
+    @Test
+    void backgroundWorkNeverAgesPastLiveWork() throws InterruptedException {
+        GenerationScheduler scheduler = new GenerationScheduler(1, 50);
+        Runnable blocker = hold(scheduler, 1L);
+        submit(scheduler, "fill", GenerationScheduler.Kind.BACKGROUND, 2L, 0);
+        Thread.sleep(80);
+        submit(scheduler, "reply", GenerationScheduler.Kind.REPLY, 3L, 0);
+
+        blocker.run();
+
+        assertEquals(List.of("reply-blocker", "reply", "fill"), started);
+    }
+
+    @Test
+    void releasingTwiceFreesOneSlot() {
+        GenerationScheduler scheduler = new GenerationScheduler(1, NO_AGING);
+        Runnable first = hold(scheduler, 1L);
+        hold(scheduler, 1L);
+        hold(scheduler, 1L);
+
+        // A cancelled stream releases from its cancel hook and again when the subscriber completes.
+        first.run();
+        first.run();
+
+        assertEquals(2, started.size());
+        assertEquals(1, scheduler.getStats().active());
+        assertEquals(1, scheduler.getStats().queued());
+    }
+
+    @Test
+    void taskThatFailsToStartReleasesItsSlot() {
+        GenerationScheduler scheduler = new GenerationScheduler(1, NO_AGING);
+        scheduler.submit(GenerationScheduler.Kind.REPLY, 1L, 0, release -> {
+            throw new IllegalStateException("boom");
+        });
+        submit(scheduler, "next", GenerationScheduler.Kind.REPLY, 1L, 0);
+
+        assertEquals(List.of("next"), started);
+        assertEquals(0, scheduler.getStats().active());
+    }
+
+    @Test
+    void higherLimitStartsQueuedWork() {
+        GenerationScheduler scheduler = new GenerationScheduler(1, NO_AGING);
+        hold(scheduler, 1L);
+        hold(scheduler, 2L);
+        hold(scheduler, 3L);
+
+        scheduler.reconfigure(3, NO_AGING);
+
+        assertEquals(3, scheduler.getStats().active());
+        assertEquals(0, scheduler.getStats().queued());
+    }
+
+    @Test
+    void forgetsGuildsWithNothingQueued() {
+        GenerationScheduler scheduler = new GenerationScheduler(1, NO_AGING);
+        Runnable blocker = hold(scheduler, 0L);
+        for (long guildId = 1; guildId <= 100; guildId++) {
+            submit(scheduler, "guild-" + guildId, GenerationScheduler.Kind.REPLY, guildId, 0);
+            submit(scheduler, "guild-" + guildId, GenerationScheduler.Kind.REPLY, guildId, 0);
+        }
+
+        blocker.run();
+
+        assertEquals(201, started.size());
+        assertEquals(0, scheduler.trackedGuilds());
+    }
+
+    // Starts work that keeps its slot until the returned release runs.
+    private Runnable hold(GenerationScheduler scheduler, long guildId) {
+        AtomicReference<Runnable> slot = new AtomicReference<>();
+        scheduler.submit(GenerationScheduler.Kind.REPLY, guildId, 0, release -> {
+            started.add("reply-blocker");
+            slot.set(release);
+        });
+        return () -> slot.get().run();
+    }
+
+    // Finished work releases its slot as soon as it starts.
+    private void submit(GenerationScheduler scheduler, String name, GenerationScheduler.Kind kind, long guildId,
+                        long lastActivity) {
+        scheduler.submit(kind, guildId, lastActivity, release -> {
+            started.add(name);
+            release.run();
+        });
+    }
+}
@@ -0,0 +1,85 @@
+package com.bruhdows.debatebot.debate;
+
+import com.bruhdows.debatebot.DebateBot;
+import com.bruhdows.debatebot.client.ApiType;
+import com.bruhdows.debatebot.client.LanguageModelClient;
+import com.bruhdows.debatebot.client.factory.ClientFactory;
+import com.bruhdows.debatebot.client.http.HttpTransport;
+import com.bruhdows.debatebot.config.Config;
+import com.bruhdows.debatebot.debate.store.NoopSessionStore;
+import com.bruhdows.debatebot.loadtest.FakeDiscord;
+import com.bruhdows.debatebot.loadtest.LoadTestStats;
+import com.bruhdows.debatebot.loadtest.MockLlmServer;
+import com.bruhdows.debatebot.loadtest.SimulatedDebate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NonBlockingReplyTest {
+
+    private static final String LISTENER_THREAD = "JDA MainWS-ReadThread";
+
+    private MockLlmServer server;
+    private FakeDiscord discord;
+    private DebateShards shards;
+    private ScheduledExecutorService listenerThread;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new MockLlmServer(new MockLlmServer.Settings(20, 5, 12, 0, 0));
+        server.start();
+        // Slow enough that a blocking call on the listener thread could not go unnoticed.
+        discord = new FakeDiscord(100);
+        listenerThread = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name(LISTENER_THREAD).daemon().factory());
+
+        Config config = new Config();
+        config.setApiType(ApiType.GROQ);
+        config.setApiKey("test");
+        config.setApiModel("mock");
+        config.setApiBaseUrl(server.groqBaseUrl());
+        config.setEditIntervalMillis(50);
+        config.setSessionStoreEnabled(false);
+        config.setConfigWatchEnabled(false);
+        config.setMetricsEnabled(false);
+        DebateBot.applyConfig(config);
+
+        LanguageModelClient client = ClientFactory.createClient(config, new HttpTransport(config));
+        shards = new DebateShards(client, config, new NoopSessionStore());
+    }
+
+    @AfterEach
+    void tearDown() {
+        listenerThread.shutdownNow();
+        shards.shutdown();
+        discord.shutdown();
+        server.stop();
+    }
+
+    @Test
+    void debateNeverBlocksOnDiscordRest() throws Exception {
+        DebateListener listener = new DebateListener(shards);
+        LoadTestStats stats = new LoadTestStats();
+        CountDownLatch finished = new CountDownLatch(1);
+        // Every command and argument is delivered on the listener thread, the way JDA dispatches events.
+        SimulatedDebate debate = new SimulatedDebate(0, 2, 0, discord, shards, listener, listenerThread, stats,
+                finished::countDown);
+
+        listenerThread.execute(debate::start);
+
+        assertTrue(finished.await(30, TimeUnit.SECONDS), "debate did not finish");
+        assertEquals(3, stats.getTurns());
+        assertEquals(0, stats.getFailedTurns());
+        assertTrue(stats.getEdits() > 0);
+        assertEquals(Set.of(), discord.getBlockingCallers());
+    }
+}
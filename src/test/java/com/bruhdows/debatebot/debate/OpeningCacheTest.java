@@ -0,0 +1,139 @@
+package com.bruhdows.debatebot.debate;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OpeningCacheTest {
+
+    private static final long TTL = 1_000;
+    private static final String TEMPLATE = "template";
+    private static final String MODEL = "model";
+
+    @Test
+    void servesOnceTheFirstVariantExists() {
+        OpeningCache cache = new OpeningCache(8, TTL, 3);
+        assertEquals(Optional.empty(), cache.get("Cats", TEMPLATE, MODEL, 0));
+
+        cache.put("Cats", TEMPLATE, MODEL, "Cats rule.", 0);
+
+        assertEquals(Optional.of("Cats rule."), cache.get("Cats", TEMPLATE, MODEL, 10));
+        assertEquals(new OpeningCacheStats(1, 1, 1), cache.getStats());
+    }
+
+    @Test
+    void matchesNormalizedTopics() {
+        OpeningCache cache = new OpeningCache(8, TTL, 1);
+        cache.put("Is  water wet?", TEMPLATE, MODEL, "No.", 0);
+
+        assertEquals(Optional.of("No."), cache.get(" is water WET ", TEMPLATE, MODEL, 0));
+        assertEquals(Optional.empty(), cache.get("is water wet", "other", MODEL, 0));
+        assertEquals(Optional.empty(), cache.get("is water wet", TEMPLATE, "other", 0));
+    }
+
+    @Test
+    void fillsVariantsOneClaimAtATime() {
+        OpeningCache cache = new OpeningCache(8, TTL, 3);
+        cache.put("cats", TEMPLATE, MODEL, "one", 0);
+
+        assertTrue(cache.claimFill("cats", TEMPLATE, MODEL, 0));
+        assertFalse(cache.claimFill("cats", TEMPLATE, MODEL, 0));
+        cache.completeFill("cats", TEMPLATE, MODEL, "two", 0);
+
+        assertTrue(cache.claimFill("cats", TEMPLATE, MODEL, 0));
+        cache.completeFill("cats", TEMPLATE, MODEL, "three", 0);
+
+        assertFalse(cache.claimFill("cats", TEMPLATE, MODEL, 0));
+        Set<String> served = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            served.add(cache.get("cats", TEMPLATE, MODEL, 0).orElseThrow());
+        }
+        assertEquals(Set.of("one", "two", "three"), served);
+    }
+
+    @Test
+    void failedFillCanBeClaimedAgain() {
+        OpeningCache cache = new OpeningCache(8, TTL, 2);
+        cache.put("cats", TEMPLATE, MODEL, "one", 0);
+
+        assertTrue(cache.claimFill("cats", TEMPLATE, MODEL, 0));
+        cache.completeFill("cats", TEMPLATE, MODEL, null, 0);
+
+        assertTrue(cache.claimFill("cats", TEMPLATE, MODEL, 0));
+    }
+
+    @Test
+    void nothingToFillWithoutAnEntry() {
+        OpeningCache cache = new OpeningCache(8, TTL, 3);
+
+        assertFalse(cache.claimFill("cats", TEMPLATE, MODEL, 0));
+    }
+
+    @Test
+    void ignoresDuplicateVariants() {
+        OpeningCache cache = new OpeningCache(8, TTL, 2);
+        cache.put("cats", TEMPLATE, MODEL, "one", 0);
+        cache.put("cats", TEMPLATE, MODEL, "one", 0);
+
+        assertTrue(cache.claimFill("cats", TEMPLATE, MODEL, 0));
+    }
+
+    @Test
+    void expiresEntriesAfterTtl() {
+        OpeningCache cache = new OpeningCache(8, TTL, 1);
+        cache.put("cats", TEMPLATE, MODEL, "old", 0);
+
+        assertEquals(Optional.of("old"), cache.get("cats", TEMPLATE, MODEL, TTL - 1));
+        assertEquals(Optional.empty(), cache.get("cats", TEMPLATE, MODEL, TTL));
+        assertEquals(0, cache.getStats().size());
+
+        cache.put("cats", TEMPLATE, MODEL, "new", TTL);
+        assertEquals(Optional.of("new"), cache.get("cats", TEMPLATE, MODEL, TTL));
+    }
+
+    @Test
+    void fillCompletingAfterExpiryStartsAFreshEntry() {
+        OpeningCache cache = new OpeningCache(8, TTL, 3);
+        cache.put("cats", TEMPLATE, MODEL, "old", 0);
+        assertTrue(cache.claimFill("cats", TEMPLATE, MODEL, 0));
+
+        cache.completeFill("cats", TEMPLATE, MODEL, "new", TTL);
+
+        assertEquals(Optional.of("new"), cache.get("cats", TEMPLATE, MODEL, TTL));
+        assertTrue(cache.claimFill("cats", TEMPLATE, MODEL, TTL));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedTopic() {
+        OpeningCache cache = new OpeningCache(2, TTL, 1);
+        cache.put("a", TEMPLATE, MODEL, "A", 0);
+        cache.put("b", TEMPLATE, MODEL, "B", 0);
+        cache.get("a", TEMPLATE, MODEL, 0);
+        cache.put("c", TEMPLATE, MODEL, "C", 0);
+
+        assertEquals(2, cache.getStats().size());
+        assertEquals(Optional.of("A"), cache.get("a", TEMPLATE, MODEL, 0));
+        assertEquals(Optional.empty(), cache.get("b", TEMPLATE, MODEL, 0));
+        assertEquals(Optional.of("C"), cache.get("c", TEMPLATE, MODEL, 0));
+    }
+
+    @Test
+    void shrinkingDropsEldestEntries() {
+        OpeningCache cache = new OpeningCache(4, TTL, 1);
+        for (String topic : new String[]{"a", "b", "c", "d"}) {
+            cache.put(topic, TEMPLATE, MODEL, topic.toUpperCase(), 0);
+        }
+
+        cache.reconfigure(2, TTL, 1);
+
+        assertEquals(2, cache.getStats().size());
+        assertEquals(Optional.empty(), cache.get("a", TEMPLATE, MODEL, 0));
+        assertEquals(Optional.of("D"), cache.get("d", TEMPLATE, MODEL, 0));
+    }
+}
@@ -0,0 +1,161 @@
+package com.bruhdows.debatebot.debate;
+
+import com.bruhdows.debatebot.client.LanguageModelException;
+import com.bruhdows.debatebot.client.TokenChunk;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplySubscriberTest {
+
+    // Long enough that the editor never flushes to the (absent) Discord message during a test.
+    private static final long EDIT_INTERVAL = 60_000;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ConcessionMatcher concession = ConcessionMatcher.of(List.of("i concede"));
+    private final AtomicReference<ReplySubscriber.Result> result = new AtomicReference<>();
+    private final RecordingSubscription subscription = new RecordingSubscription();
+
+    @AfterEach
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void prefetchesThenRequestsOnePerChunk() {
+        ReplySubscriber subscriber = subscriber(true);
+        subscriber.onSubscribe(subscription);
+        assertEquals(List.of(16L), subscription.requests);
+
+        subscriber.onNext(TokenChunk.of("Pineapple "));
+        subscriber.onNext(TokenChunk.of("belongs"));
+        subscriber.onNext(TokenChunk.finish("stop", null));
+        subscriber.onComplete();
+
+        assertEquals(List.of(16L, 1L, 1L, 1L), subscription.requests);
+        assertEquals(new ReplySubscriber.Result("Pineapple belongs", "stop", null, false), result.get());
+    }
+
+    @Test
+    void cancelsOnConcession() {
+        ReplySubscriber subscriber = subscriber(true);
+        subscriber.onSubscribe(subscription);
+
+        subscriber.onNext(TokenChunk.of("Fine, i conc"));
+        subscriber.onNext(TokenChunk.of("ede."));
+
+        assertTrue(subscription.cancelled);
+        assertEquals(List.of(16L, 1L), subscription.requests);
+        assertEquals("concede", result.get().finishReason());
+        assertTrue(result.get().conceded());
+    }
+
+    @Test
+    void keepsStreamingAfterConcessionWhenNotStopping() {
+        ReplySubscriber subscriber = subscriber(false);
+        subscriber.onSubscribe(subscription);
+
+        subscriber.onNext(TokenChunk.of("I concede nothing"));
+        subscriber.onComplete();
+
+        assertFalse(subscription.cancelled);
+        assertEquals(List.of(16L, 1L), subscription.requests);
+        assertTrue(result.get().conceded());
+    }
+
+    @Test
+    void cancelsAtMessageLimit() {
+        ReplySubscriber subscriber = subscriber(true);
+        subscriber.onSubscribe(subscription);
+
+        subscriber.onNext(TokenChunk.of("x".repeat(ReplySubscriber.MESSAGE_CHAR_LIMIT - 10)));
+        subscriber.onNext(TokenChunk.of("y".repeat(20)));
+
+        assertTrue(subscription.cancelled);
+        assertEquals(List.of(16L, 1L), subscription.requests);
+        assertEquals("length", result.get().finishReason());
+        assertEquals(ReplySubscriber.MESSAGE_CHAR_LIMIT, result.get().text().length());
+    }
+
+    @Test
+    void finishesOnlyOnce() {
+        List<ReplySubscriber.Result> results = new ArrayList<>();
+        ReplySubscriber subscriber = new ReplySubscriber(editor(), concession, true, results::add);
+        subscriber.onSubscribe(subscription);
+
+        subscriber.onNext(TokenChunk.of("i concede"));
+        subscriber.onNext(TokenChunk.of(" "));
+        subscriber.onComplete();
+
+        assertEquals(1, results.size());
+    }
+
+    @Test
+    void wrapsForeignErrors() {
+        ReplySubscriber subscriber = subscriber(true);
+        subscriber.onSubscribe(subscription);
+        IllegalArgumentException cause = new IllegalArgumentException("bad request");
+
+        subscriber.onError(cause);
+
+        assertSame(cause, result.get().error().getCause());
+        assertNull(result.get().finishReason());
+    }
+
+    @Test
+    void keepsLanguageModelErrorsAsIs() {
+        ReplySubscriber subscriber = subscriber(true);
+        subscriber.onSubscribe(subscription);
+        LanguageModelException error = new LanguageModelException("rate limited", 429);
+
+        subscriber.onError(error);
+
+        assertSame(error, result.get().error());
+    }
+
+    @Test
+    void handleCancelsSubscription() {
+        ReplySubscriber subscriber = subscriber(true);
+        subscriber.onSubscribe(subscription);
+
+        subscriber.getHandle().cancel();
+
+        assertTrue(subscription.cancelled);
+    }
+
+    private ReplySubscriber subscriber(boolean stopOnConcession) {
+        return new ReplySubscriber(editor(), concession, stopOnConcession, result::set);
+    }
+
+    private StreamingMessageEditor editor() {
+        return new StreamingMessageEditor(null, 1L, new EditRateLimits(), scheduler, EDIT_INTERVAL, EDIT_INTERVAL);
+    }
+
+    private static final class RecordingSubscription implements Flow.Subscription {
+
+        private final List<Long> requests = new ArrayList<>();
+        private boolean cancelled;
+
+        @Override
+        public void request(long n) {
+            requests.add(n);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.bruhdows.debatebot.debate;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SessionExpiryWheelTest {
+
+    private static final long TTL = 1_000;
+    private static final long TICK = 100;
+
+    @Test
+    void expiresAtTheDeadline() {
+        SessionExpiryWheel wheel = new SessionExpiryWheel(TTL, TICK, 0);
+        wheel.touch(1L, 0);
+
+        assertEquals(List.of(), wheel.advance(999));
+        assertEquals(List.of(1L), wheel.advance(1_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void touchPushesTheDeadlineBack() {
+        SessionExpiryWheel wheel = new SessionExpiryWheel(TTL, TICK, 0);
+        wheel.touch(1L, 0);
+        wheel.touch(1L, 650);
+
+        assertEquals(List.of(), wheel.advance(1_200));
+        assertEquals(List.of(1L), wheel.advance(1_650));
+    }
+
+    @Test
+    void deadlineInsideATickExpiresOnlyOnceReached() {
+        SessionExpiryWheel wheel = new SessionExpiryWheel(TTL, TICK, 0);
+        wheel.touch(1L, 50);
+
+        assertEquals(List.of(), wheel.advance(1_020));
+        assertEquals(List.of(1L), wheel.advance(1_080));
+    }
+
+    @Test
+    void removedThreadNeverExpires() {
+        SessionExpiryWheel wheel = new SessionExpiryWheel(TTL, TICK, 0);
+        wheel.touch(1L, 0);
+        wheel.touch(2L, 0);
+        wheel.remove(1L);
+
+        assertEquals(List.of(2L), wheel.advance(5_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void catchesUpAfterMissingSeveralRevolutions() {
+        SessionExpiryWheel wheel = new SessionExpiryWheel(TTL, TICK, 0);
+        for (long threadId = 0; threadId < 20; threadId++) {
+            wheel.touch(threadId, threadId * 37);
+        }
+
+        assertEquals(20, wheel.advance(60_000).size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void keepsThreadsTouchedOnALaterLap() {
+        SessionExpiryWheel wheel = new SessionExpiryWheel(TTL, TICK, 0);
+        wheel.touch(1L, 0);
+        wheel.touch(2L, 1_150);
+
+        assertEquals(List.of(1L), wheel.advance(1_100));
+        assertEquals(List.of(), wheel.advance(2_100));
+        assertEquals(List.of(2L), wheel.advance(2_150));
+    }
+
+    @Test
+    void reconfigureMovesDeadlinesToTheNewTtl() {
+        SessionExpiryWheel wheel = new SessionExpiryWheel(TTL, TICK, 0);
+        wheel.touch(1L, 0);
+        wheel.touch(2L, 400);
+        wheel.reconfigure(3_000, 250, 500);
+
+        assertEquals(List.of(), wheel.advance(2_900));
+        assertEquals(List.of(1L), wheel.advance(3_000));
+        assertEquals(List.of(2L), wheel.advance(3_400));
+    }
+
+    @Test
+    void shorterTtlExpiresOverdueThreadsOnNextAdvance() {
+        SessionExpiryWheel wheel = new SessionExpiryWheel(10_000, TICK, 0);
+        wheel.touch(1L, 0);
+        wheel.touch(2L, 4_500);
+        wheel.reconfigure(TTL, TICK, 5_000);
+
+        assertEquals(List.of(1L), wheel.advance(5_000));
+        assertEquals(List.of(2L), wheel.advance(5_500));
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,154 @@
+package com.bruhdows.debatebot.debate.store;
+
+import com.bruhdows.debatebot.debate.DebateSession;
+import com.bruhdows.debatebot.debate.Turn;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileSessionStoreTest {
+
+    private static final long GUILD = 7L;
+    private static final long THREAD = 1001L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void restoresSessionAfterRestart() throws Exception {
+        FileSessionStore store = new FileSessionStore(directory, 20, 100);
+        store.saveSession(session(THREAD, GUILD));
+        store.appendTurn(THREAD, new Turn(Turn.Role.BOT, "Cats are better."));
+        store.appendTurn(THREAD, new Turn(Turn.Role.USER, "Dogs, \"obviously\".\nNew line."));
+        store.close();
+
+        FileSessionStore restarted = new FileSessionStore(directory, 20, 100);
+        assertEquals(Map.of(THREAD, GUILD), restarted.getThreadGuilds());
+        StoredSession stored = restarted.load(THREAD).get().orElseThrow();
+        restarted.close();
+
+        assertEquals(new StoredSession(THREAD, GUILD, "cats vs dogs", "42", "open {topic}", null, List.of(
+                new Turn(Turn.Role.BOT, "Cats are better."),
+                new Turn(Turn.Role.USER, "Dogs, \"obviously\".\nNew line."))), stored);
+    }
+
+    @Test
+    void loadSeesWritesStillQueued() throws Exception {
+        FileSessionStore store = new FileSessionStore(directory, 20, 100);
+        store.saveSession(session(THREAD, GUILD));
+        store.appendTurn(THREAD, new Turn(Turn.Role.BOT, "first"));
+
+        StoredSession stored = store.load(THREAD).get().orElseThrow();
+        store.close();
+
+        assertEquals(List.of(new Turn(Turn.Role.BOT, "first")), stored.turns());
+    }
+
+    @Test
+    void compactsToHeaderAndRecentTurns() throws Exception {
+        FileSessionStore store = new FileSessionStore(directory, 3, 6);
+        store.saveSession(session(THREAD, GUILD));
+        List<Turn> turns = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            Turn turn = new Turn(i % 2 == 0 ? Turn.Role.BOT : Turn.Role.USER, "turn " + i);
+            turns.add(turn);
+            store.appendTurn(THREAD, turn);
+            // Loading forces a flush, so every append goes through its own write.
+            store.load(THREAD).get();
+        }
+        store.close();
+
+        List<String> lines = Files.readAllLines(directory.resolve(GUILD + "-" + THREAD + ".log"),
+                StandardCharsets.UTF_8);
+        assertTrue(lines.size() <= 7, "log has " + lines.size() + " lines");
+        assertTrue(lines.getFirst().contains("\"type\":\"session\""));
+
+        FileSessionStore restarted = new FileSessionStore(directory, 3, 6);
+        List<Turn> restored = restarted.load(THREAD).get().orElseThrow().turns();
+        restarted.close();
+        assertTrue(restored.size() >= 3, "kept " + restored.size() + " turns");
+        assertEquals(turns.subList(turns.size() - restored.size(), turns.size()), restored);
+    }
+
+    @Test
+    void dropsTurnsAppendedAfterDelete() throws Exception {
+        FileSessionStore store = new FileSessionStore(directory, 20, 100);
+        store.saveSession(session(THREAD, GUILD));
+        store.appendTurn(THREAD, new Turn(Turn.Role.BOT, "opening"));
+        store.load(THREAD).get();
+        store.deleteSession(THREAD);
+        store.appendTurn(THREAD, new Turn(Turn.Role.BOT, "finished after the debate ended"));
+        store.close();
+
+        assertEquals(List.of(), logFiles());
+        FileSessionStore restarted = new FileSessionStore(directory, 20, 100);
+        assertEquals(Map.of(), restarted.getThreadGuilds());
+        restarted.close();
+    }
+
+    @Test
+    void dropsTurnsQueuedBehindDeleteInTheSameBatch() throws Exception {
+        FileSessionStore store = new FileSessionStore(directory, 20, 100);
+        store.saveSession(session(THREAD, GUILD));
+        store.appendTurn(THREAD, new Turn(Turn.Role.BOT, "opening"));
+        store.deleteSession(THREAD);
+        store.saveSession(session(THREAD + 1, GUILD));
+        store.deleteSession(THREAD + 1);
+        store.close();
+
+        assertEquals(List.of(), logFiles());
+    }
+
+    @Test
+    void ignoresTurnsForUnknownThreads() throws Exception {
+        FileSessionStore store = new FileSessionStore(directory, 20, 100);
+        store.appendTurn(THREAD, new Turn(Turn.Role.USER, "hello?"));
+        store.close();
+
+        assertFalse(store.contains(THREAD));
+        assertEquals(List.of(), logFiles());
+    }
+
+    @Test
+    void recoversLegacyAndGuildScopedFileNames() throws Exception {
+        Files.writeString(directory.resolve("55.log"), "{\"type\":\"session\",\"topic\":\"t\",\"leaderUserId\":\"1\"}\n");
+        Files.writeString(directory.resolve("9-66.log"), "{\"type\":\"session\",\"topic\":\"u\",\"leaderUserId\":\"2\"}\n");
+        Files.writeString(directory.resolve("notes.log"), "ignored");
+        Files.writeString(directory.resolve("9-66.log.tmp"), "ignored");
+
+        FileSessionStore store = new FileSessionStore(directory, 20, 100);
+        assertEquals(Map.of(55L, 0L, 66L, 9L), store.getThreadGuilds());
+        StoredSession legacy = store.load(55L).get().orElseThrow();
+        store.close();
+
+        assertEquals(new StoredSession(55L, 0L, "t", "1", null, null, List.of()), legacy);
+    }
+
+    private List<Path> logFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".log")).toList();
+        }
+    }
+
+    private static DebateSession session(long threadId, long guildId) {
+        DebateSession session = new DebateSession();
+        session.setThreadId(threadId);
+        session.setGuildId(guildId);
+        session.setTopic("cats vs dogs");
+        session.setLeaderUserId("42");
+        session.setOpeningPrompt("open {topic}");
+        return session;
+    }
+}